@@ -0,0 +1,56 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.configuration.ArenaConfiguration;
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.configuration.EvolutionConfigurationBuilder;
+import cz.eoa.cycle.ArenaEvolutionExecutor;
+import cz.eoa.templates.StatisticsPerEpoch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole run of evolution in arena, counterpart of {@link EvolutionRunBenchmark} with the same problem and parameters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaEvolutionRunBenchmark {
+    private static final int EPOCHS = 10;
+
+    @Param({"50", "1000", "100000"})
+    private int populationSize;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"CHEAP", "EXPENSIVE"})
+    private OneMax.Fitness fitness;
+
+    private EvolutionConfiguration<long[], long[], Double, StatisticsPerEpoch<long[], long[], Double>> configuration;
+    private ArenaConfiguration<long[]> arena;
+
+    @Setup
+    public void setUp() {
+        configuration = new EvolutionConfigurationBuilder<long[], long[], Double, StatisticsPerEpoch<long[], long[], Double>>()
+                .fitnessIsMaximized(true)
+                .parallel(parallel)
+                .probabilityOfCrossover(0.75)
+                .populationSize(populationSize)
+                .populationInStatistics(false)
+                .statisticsCreation(StatisticsPerEpoch::new)
+                .terminationCondition(epochs -> epochs.size() < EPOCHS)
+                .seed(42)
+                .build();
+        arena = OneMax.arenaConfiguration(populationSize, fitness);
+    }
+
+    @Benchmark
+    public List<StatisticsPerEpoch<long[], long[], Double>> run() {
+        return new ArenaEvolutionExecutor<>(configuration, arena).run();
+    }
+}
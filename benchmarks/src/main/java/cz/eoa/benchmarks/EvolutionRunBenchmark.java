@@ -0,0 +1,47 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.cycle.EvolutionExecutor;
+import cz.eoa.library.binary.BitString;
+import cz.eoa.templates.StatisticsPerEpoch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole run of evolution from initialization to termination after fixed number of epochs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvolutionRunBenchmark {
+    private static final int EPOCHS = 10;
+
+    @Param({"50", "1000", "100000"})
+    private int populationSize;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"CHEAP", "EXPENSIVE"})
+    private OneMax.Fitness fitness;
+
+    private EvolutionConfiguration<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> configuration;
+
+    @Setup
+    public void setUp() {
+        configuration = OneMax.configuration(populationSize, parallel, fitness)
+                .terminationCondition(epochs -> epochs.size() < EPOCHS)
+                .seed(42)
+                .build();
+    }
+
+    @Benchmark
+    public List<StatisticsPerEpoch<BitString, BitString, Double>> run() {
+        return new EvolutionExecutor<>(configuration).run();
+    }
+}
@@ -0,0 +1,59 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.library.binary.BitString;
+import cz.eoa.library.sharing.BruteForceNeighbourIndex;
+import cz.eoa.library.sharing.FitnessSharing;
+import cz.eoa.library.sharing.HammingNeighbourIndex;
+import cz.eoa.library.sharing.NeighbourIndexFactory;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.FitnessTweakingStrategy;
+import cz.eoa.templates.operations.IndividualFitnessUpdater;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tweaking of fitness of whole population via {@link IndividualWithAssignedFitness#updateFitness}, the same way executor
+ * does it. Fitness sharing is used as tweaking strategy, with neighbours found by scan or by index
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FitnessTweakingBenchmark {
+
+    public enum Neighbours {
+        BRUTE_FORCE,
+        HAMMING
+    }
+
+    @Param({"50", "1000", "10000"})
+    private int populationSize;
+
+    @Param({"BRUTE_FORCE", "HAMMING"})
+    private Neighbours neighbours;
+
+    private List<IndividualWithAssignedFitness<BitString, BitString, Double>> population;
+    private FitnessTweakingStrategy<BitString, BitString, Double> fitnessTweaking;
+
+    @Setup
+    public void setUp() {
+        population = Collections.unmodifiableList(OneMax.randomPopulation(populationSize, 42));
+        NeighbourIndexFactory<BitString> neighbourIndexFactory = neighbours == Neighbours.HAMMING ? HammingNeighbourIndex.factory()
+                : BruteForceNeighbourIndex.factory(BitString::hammingDistance);
+        fitnessTweaking = new FitnessSharing<>(neighbourIndexFactory, OneMax.LENGTH_OF_GENES / 4.0, 1.0, true);
+    }
+
+    @Benchmark
+    public void updateFitness(Blackhole blackhole) {
+        IndividualFitnessUpdater<BitString, BitString, Double> updater = fitnessTweaking.getIndividualUpdater(population);
+        for (int i = 0; i < population.size(); i++) {
+            blackhole.consume(population.get(i).updateFitness(i, population, updater));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.library.pareto.NonDominatedSorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking of population by non-dominated fronts and crowding distance, objectives are uniformly random
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NonDominatedSortingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int populationSize;
+
+    @Param({"2", "3", "5"})
+    private int countOfObjectives;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private double[][] objectives;
+    private NonDominatedSorting<Object, Object> sorting;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        objectives = new double[populationSize][countOfObjectives];
+        for (double[] objectivesOfIndividual : objectives) {
+            for (int i = 0; i < countOfObjectives; i++) {
+                objectivesOfIndividual[i] = random.nextDouble();
+            }
+        }
+        sorting = new NonDominatedSorting<>(null, parallel);
+    }
+
+    @Benchmark
+    public NonDominatedSorting.Ranking sort() {
+        return sorting.sort(objectives);
+    }
+}
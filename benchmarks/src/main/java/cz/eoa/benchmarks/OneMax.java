@@ -0,0 +1,118 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.configuration.ArenaConfiguration;
+import cz.eoa.configuration.EvolutionConfigurationBuilder;
+import cz.eoa.library.binary.BitFlipMutation;
+import cz.eoa.library.binary.BitString;
+import cz.eoa.library.binary.BitStringCrossover;
+import cz.eoa.library.binary.BitStringInitialization;
+import cz.eoa.library.binary.PackedBits;
+import cz.eoa.library.replacement.ElitistReplacement;
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+import cz.eoa.templates.operations.IndexSelectorStrategy;
+import cz.eoa.templates.operations.SelectorStrategy;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * OneMax problem shared by benchmarks - fitness is count of ones in bit string. Expensive fitness burns given amount of
+ * CPU tokens on top of it to simulate costly evaluation
+ */
+public final class OneMax {
+    public static final int LENGTH_OF_GENES = 256;
+    //keep reference, so level set on logger is not lost. Executor logs each epoch otherwise
+    private static final Logger LIBRARY_LOGGER = Logger.getLogger("cz.eoa");
+
+    static {
+        LIBRARY_LOGGER.setLevel(Level.WARNING);
+    }
+
+    private OneMax() {
+    }
+
+    public enum Fitness {
+        CHEAP(0),
+        EXPENSIVE(10_000);
+
+        private final long tokens;
+
+        Fitness(long tokens) {
+            this.tokens = tokens;
+        }
+
+        double assess(BitString genes) {
+            if (tokens > 0) {
+                Blackhole.consumeCPU(tokens);
+            }
+            return genes.cardinality();
+        }
+
+        double assess(long[] genes, int offset, int length) {
+            if (tokens > 0) {
+                Blackhole.consumeCPU(tokens);
+            }
+            int cardinality = 0;
+            for (int i = 0; i < length; i++) {
+                cardinality = cardinality + Long.bitCount(genes[offset + i]);
+            }
+            return cardinality;
+        }
+    }
+
+    public static EvolutionConfigurationBuilder<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> configuration(
+            int populationSize, boolean parallel, Fitness fitness) {
+        return new EvolutionConfigurationBuilder<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>>()
+                .populationInitialization(new BitStringInitialization<>(LENGTH_OF_GENES))
+                .crossover(BitStringCrossover.uniform())
+                .mutation(new BitFlipMutation<>(1.0 / LENGTH_OF_GENES))
+                .selector(tournament(4))
+                .replacement(new ElitistReplacement<>(Math.max(1, populationSize / 20), true))
+                .decoding(genes -> genes)
+                .fitnessAssessment(fitness::assess)
+                .fitnessIsMaximized(true)
+                .parallel(parallel)
+                .probabilityOfCrossover(0.75)
+                .populationSize(populationSize)
+                .statisticsCreation(StatisticsPerEpoch::new);
+    }
+
+    /**
+     * The same problem and operators for evolution in arena of packed bits
+     */
+    public static ArenaConfiguration<long[]> arenaConfiguration(int populationSize, Fitness fitness) {
+        return new ArenaConfiguration<>(long[]::new, PackedBits.wordsFor(LENGTH_OF_GENES), PackedBits.random(LENGTH_OF_GENES),
+                PackedBits.uniformCrossover(), PackedBits.bitFlip(1.0 / LENGTH_OF_GENES, LENGTH_OF_GENES), fitness::assess,
+                IndexSelectorStrategy.tournament(4), Math.max(1, populationSize / 20));
+    }
+
+    public static SelectorStrategy<BitString, BitString, Double> tournament(int size) {
+        return population -> {
+            IndividualWithAssignedFitness<BitString, BitString, Double> winner = population.get(EvolutionContext.random().nextInt(population.size()));
+            for (int i = 1; i < size; i++) {
+                IndividualWithAssignedFitness<BitString, BitString, Double> candidate = population.get(EvolutionContext.random().nextInt(population.size()));
+                if (candidate.getFitness() > winner.getFitness()) {
+                    winner = candidate;
+                }
+            }
+            return winner;
+        };
+    }
+
+    public static List<IndividualWithAssignedFitness<BitString, BitString, Double>> randomPopulation(int populationSize, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<IndividualWithAssignedFitness<BitString, BitString, Double>> population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            BitString genes = BitString.random(LENGTH_OF_GENES, random);
+            population.add(new IndividualWithAssignedFitness<>(new Individual<>(genes), (double) genes.cardinality()));
+        }
+        return population;
+    }
+}
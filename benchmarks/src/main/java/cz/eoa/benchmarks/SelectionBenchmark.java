@@ -0,0 +1,70 @@
+package cz.eoa.benchmarks;
+
+import cz.eoa.library.binary.BitString;
+import cz.eoa.library.selection.RankSelector;
+import cz.eoa.library.selection.RouletteWheelSelector;
+import cz.eoa.library.selection.TournamentSelector;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.SelectorStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of parents for whole generation, i.e. selector is prepared for population and then called as many times
+ * as there are individuals in population
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectionBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    private int populationSize;
+
+    public enum Selector {
+        //tournament on boxed fitness written directly on the interface
+        LAMBDA_TOURNAMENT,
+        TOURNAMENT,
+        RANK,
+        ROULETTE_WHEEL
+    }
+
+    @Param({"LAMBDA_TOURNAMENT", "TOURNAMENT", "RANK", "ROULETTE_WHEEL"})
+    private Selector selectorType;
+
+    private List<IndividualWithAssignedFitness<BitString, BitString, Double>> population;
+    private SelectorStrategy<BitString, BitString, Double> selector;
+
+    @Setup
+    public void setUp() {
+        population = Collections.unmodifiableList(OneMax.randomPopulation(populationSize, 42));
+        switch (selectorType) {
+            case LAMBDA_TOURNAMENT:
+                selector = OneMax.tournament(4);
+                break;
+            case TOURNAMENT:
+                selector = new TournamentSelector<>(4, Double::doubleValue, true);
+                break;
+            case RANK:
+                selector = new RankSelector<>(1.5, Double::doubleValue, true);
+                break;
+            default:
+                selector = new RouletteWheelSelector<>(Double::doubleValue, true);
+        }
+    }
+
+    @Benchmark
+    public void selectGeneration(Blackhole blackhole) {
+        SelectorStrategy<BitString, BitString, Double> preparedSelector = selector.prepare(population);
+        for (int i = 0; i < populationSize; i++) {
+            blackhole.consume(preparedSelector.select(population));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cz.eoa.cycle;
+
+import cz.eoa.benchmarks.OneMax;
+import cz.eoa.library.binary.BitString;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single iteration of generational loop - replacement, breeding and evaluation of offspring. It lives in package of
+ * executor to reach its per-generation step
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BreedingBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    private int populationSize;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"CHEAP", "EXPENSIVE"})
+    private OneMax.Fitness fitness;
+
+    private EvolutionExecutor<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> executor;
+    private List<IndividualWithAssignedFitness<BitString, BitString, Double>> population;
+    private int epoch;
+
+    @Setup
+    public void setUp() {
+        executor = new EvolutionExecutor<>(OneMax.configuration(populationSize, parallel, fitness)
+                .terminationCondition(epochs -> false)
+                .seed(42)
+                .build());
+        executor.prepareRun();
+        population = executor.createInitialPopulation();
+    }
+
+    @Benchmark
+    public List<IndividualWithAssignedFitness<BitString, BitString, Double>> createNextGeneration() {
+        //always breed from initial population, so the work does not change as population converges
+        return executor.createNextGeneration(++epoch, population).getPopulation();
+    }
+}
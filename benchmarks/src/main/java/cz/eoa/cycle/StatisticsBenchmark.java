@@ -0,0 +1,46 @@
+package cz.eoa.cycle;
+
+import cz.eoa.benchmarks.OneMax;
+import cz.eoa.library.binary.BitString;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of statistics of single epoch - search for the best individual and optionally aggregates of fitness
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    private int populationSize;
+
+    @Param({"false", "true"})
+    private boolean aggregates;
+
+    private EvolutionExecutor<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> executor;
+    private List<IndividualWithAssignedFitness<BitString, BitString, Double>> population;
+
+    @Setup
+    public void setUp() {
+        executor = new EvolutionExecutor<>(OneMax.configuration(populationSize, false, OneMax.Fitness.CHEAP)
+                .terminationCondition(epochs -> false)
+                .fitnessAsDouble(aggregates ? Double::doubleValue : null)
+                .build());
+        executor.prepareRun();
+        population = OneMax.randomPopulation(populationSize, 42);
+    }
+
+    @Benchmark
+    public StatisticsPerEpoch<BitString, BitString, Double> createNewStatistics() {
+        return executor.createNewStatistics(1, System.currentTimeMillis(), populationSize, population);
+    }
+}
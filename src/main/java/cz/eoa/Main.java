@@ -3,9 +3,12 @@ package cz.eoa;
 import cz.eoa.configuration.EvolutionConfiguration;
 import cz.eoa.configuration.EvolutionConfigurationBuilder;
 import cz.eoa.cycle.EvolutionExecutor;
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.FitnessAggregates;
 import cz.eoa.templates.Individual;
 import cz.eoa.templates.IndividualWithAssignedFitness;
 import cz.eoa.templates.StatisticsPerEpoch;
+import cz.eoa.templates.operations.DoubleFitnessAssessmentStrategy;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -19,7 +22,6 @@ import java.util.stream.Stream;
 public class Main {
 
     //parameters + configuration
-    private static final Random RANDOM = new Random();
     private static final int MAX_GENES = 24;
     private static final double MIN_X = 0.0;
     private static final double MAX_X = 150.0;
@@ -34,12 +36,12 @@ public class Main {
                     int[] firstSetOfGenes = new int[MAX_GENES], secondSetOfGenes = new int[MAX_GENES];
                     // Each gene is inherited either from the 1st or the 2nd parent
                     for (int i = 0; i < MAX_GENES; i++) {
-                        if (RANDOM.nextBoolean()) {
+                        if (EvolutionContext.random().nextBoolean()) {
                             firstSetOfGenes[i] = firstParent.getGenes()[i];
                         } else {
                             firstSetOfGenes[i] = secondParent.getGenes()[i];
                         }
-                        if (RANDOM.nextBoolean()) {
+                        if (EvolutionContext.random().nextBoolean()) {
                             secondSetOfGenes[i] = secondParent.getGenes()[i];
                         } else {
                             secondSetOfGenes[i] = firstParent.getGenes()[i];
@@ -52,7 +54,7 @@ public class Main {
                     int[] genes = individual.getGenes().clone();
                     for (int i = 0; i < genes.length; i++) {
                         // Mutate each gene with probability Pm.
-                        if (RANDOM.nextDouble() < 0.01) {
+                        if (EvolutionContext.random().nextDouble() < 0.01) {
                             genes[i] = (genes[i] + 1) % 2;    // swap between 0 and 1
                         }
                     }
@@ -61,11 +63,11 @@ public class Main {
                 //tournament selection
                 .selector(population -> {
                     //First member of tournament selection.
-                    int winnerIndex = RANDOM.nextInt(population.size());
+                    int winnerIndex = EvolutionContext.random().nextInt(population.size());
 
                     // Try and check another n randomly chosen individuals.
                     for (int i = 0; i < 3; i++) {
-                        int candidate = RANDOM.nextInt(population.size());
+                        int candidate = EvolutionContext.random().nextInt(population.size());
                         if (population.get(candidate).getFitness() > population.get(winnerIndex).getFitness()) {
                             winnerIndex = candidate;
                         }
@@ -82,7 +84,7 @@ public class Main {
 
                     // Randomly initialise genes of the individual.
                     for (int i = 0; i < MAX_GENES; i++) {
-                        if (RANDOM.nextBoolean()) {
+                        if (EvolutionContext.random().nextBoolean()) {
                             genes[i] = 0;
                         } else {
                             genes[i] = 1;
@@ -93,11 +95,13 @@ public class Main {
                 //strategy how to decode genes
                 .decoding(Main::decode)
                 //how fitness is computed
-                .fitnessAssessment(Main::calculateFitness)
+                .fitnessAssessment(DoubleFitnessAssessmentStrategy.of(Main::calculateFitness))
                 .fitnessIsMaximized(true)
                 .parallel(true)
                 .probabilityOfCrossover(0.75)
                 .populationSize(50)
+                //remember fitness of already evaluated genomes
+                .fitnessCache(10_000)
                 //when to terminate evolution, after 100 epochs has been reached
                 .terminationCondition(epochs -> epochs.size() < 100)
                 //use own statistics
@@ -146,7 +150,8 @@ public class Main {
         }
 
         public String getSummary() {
-            return "Epoch " + epoch + ", avg. fitness: " + population.stream().mapToDouble(IndividualWithAssignedFitness::getFitness).average().orElse(0) + ", #fitness evaluations: " + countOfFitnessEvaluations + ", execution time:" + execution + "\n"
+            return "Epoch " + epoch + ", avg. fitness: " + fitnessAggregates.map(FitnessAggregates::getMean)
+                    .orElseGet(() -> population.stream().mapToDouble(IndividualWithAssignedFitness::getFitness).average().orElse(0)) + ", #fitness evaluations: " + countOfFitnessEvaluations + ", execution time:" + execution + "\n"
                     + "result: " + decode(bestIndividual.getGenes()) + ", best fitness: " + bestIndividual.getFitness().toString();
         }
     }
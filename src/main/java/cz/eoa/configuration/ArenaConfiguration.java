@@ -0,0 +1,43 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.operations.InPlaceCrossoverStrategy;
+import cz.eoa.templates.operations.InPlaceFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.InPlaceInitializationStrategy;
+import cz.eoa.templates.operations.InPlaceMutationStrategy;
+import cz.eoa.templates.operations.IndexSelectorStrategy;
+import lombok.Getter;
+
+import java.util.function.IntFunction;
+
+/**
+ * Operators of evolution of fixed-length genomes stored in arena. Genes of whole population are kept in single array
+ * created by 'arrays', e.g. long[]::new or double[]::new, each genome has 'genomeLength' genes. The best 'countOfElites'
+ * individuals are kept in the next generation.
+ */
+@Getter
+public class ArenaConfiguration<A> {
+    private final IntFunction<A> arrays;
+    private final int genomeLength;
+    private final InPlaceInitializationStrategy<A> initialization;
+    private final InPlaceCrossoverStrategy<A> crossover;
+    private final InPlaceMutationStrategy<A> mutation;
+    private final InPlaceFitnessAssessmentStrategy<A> fitnessAssessment;
+    private final IndexSelectorStrategy selector;
+    private final int countOfElites;
+
+    public ArenaConfiguration(IntFunction<A> arrays, int genomeLength, InPlaceInitializationStrategy<A> initialization,
+                              InPlaceCrossoverStrategy<A> crossover, InPlaceMutationStrategy<A> mutation,
+                              InPlaceFitnessAssessmentStrategy<A> fitnessAssessment, IndexSelectorStrategy selector, int countOfElites) {
+        if (genomeLength < 1 || countOfElites < 0) {
+            throw new IllegalArgumentException("Length of genome has to be positive and count of elites non-negative");
+        }
+        this.arrays = arrays;
+        this.genomeLength = genomeLength;
+        this.initialization = initialization;
+        this.crossover = crossover;
+        this.mutation = mutation;
+        this.fitnessAssessment = fitnessAssessment;
+        this.selector = selector;
+        this.countOfElites = countOfElites;
+    }
+}
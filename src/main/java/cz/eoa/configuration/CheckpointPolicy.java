@@ -0,0 +1,20 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.operations.BinaryCodec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Where and how often population is saved. Checkpoint is written every 'interval' epochs and at the end of the run,
+ * each one replaces the previous one.
+ */
+@Getter
+@AllArgsConstructor
+public class CheckpointPolicy<V, K> {
+    private final Path path;
+    private final int interval;
+    private final BinaryCodec<V> genomeCodec;
+    private final BinaryCodec<K> fitnessCodec;
+}
@@ -0,0 +1,10 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.StatisticsPerEpoch;
+
+/**
+ * Notified on evolution thread each time epoch is completed, it should return quickly
+ */
+public interface EpochListener<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    void epochCompleted(L statistics);
+}
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ToDoubleFunction;
 
 @Getter
 public class EvolutionConfiguration<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
@@ -25,6 +27,30 @@ public class EvolutionConfiguration<V, T, K extends Comparable<K>, L extends Sta
     private final double probabilityOfCrossover;
     private final TerminationCondition<V, T, K, L> terminationCondition;
     private final DecodingStrategy<V, T> decoding;
+    private final int fitnessCacheSize;
+    private final GenesEquivalence<V> genesEquivalence;
+    private final Optional<ExecutorService> executorService;
+    private final int chunkSize;
+    private final boolean isVirtualThreadPerEvaluation;
+    private final Optional<Long> seed;
+    private final Optional<IncrementalTerminationCondition<V, T, K, L>> incrementalTerminationCondition;
+    private final Optional<EpochListener<V, T, K, L>> epochListener;
+    private final int statisticsRetention;
+    private final boolean isPopulationInStatistics;
+    private final Optional<ToDoubleFunction<K>> fitnessAsDouble;
+    private final int offspringPerGeneration;
+    private final Optional<BatchFitnessAssessmentStrategy<T, K>> batchFitnessAssessment;
+    private final int batchSize;
+    private final boolean isMetricsEnabled;
+    private final Optional<MetricsListener> metricsListener;
+    private final Optional<String> metricsMBeanName;
+    private final Optional<CheckpointPolicy<V, K>> checkpointPolicy;
+    private final Optional<DeltaFitnessAssessmentStrategy<V, K, ?>> deltaFitnessAssessment;
+    private final boolean isAdaptiveParallelism;
+    private final Optional<SurrogatePolicy<V>> surrogatePolicy;
+    private final Optional<RunLogPolicy> runLogPolicy;
+    private final Optional<DiversityMeasure<V>> diversityMeasure;
+    private final Optional<StagnationPolicy> stagnationPolicy;
 
     EvolutionConfiguration(Optional<FitnessTweakingStrategy<V, T, K>> fitnessTweakingStrategy,
                                    FitnessAssessmentStrategy<T, K> fitnessAssessment,
@@ -33,7 +59,21 @@ public class EvolutionConfiguration<V, T, K extends Comparable<K>, L extends Sta
                                    SelectorStrategy<V, T, K> selector, boolean isParallel, boolean isFitnessIsMaximized,
                                    StatisticsCreationStrategy<V, T, K, L> statisticsCreation, int populationSize,
                                    double probabilityOfCrossover,
-                                   TerminationCondition<V, T, K, L> terminationCondition, DecodingStrategy<V, T> decoding) {
+                                   TerminationCondition<V, T, K, L> terminationCondition, DecodingStrategy<V, T> decoding,
+                                   int fitnessCacheSize, GenesEquivalence<V> genesEquivalence,
+                                   Optional<ExecutorService> executorService, int chunkSize, boolean isVirtualThreadPerEvaluation,
+                                   Optional<Long> seed,
+                                   Optional<IncrementalTerminationCondition<V, T, K, L>> incrementalTerminationCondition, Optional<EpochListener<V, T, K, L>> epochListener, int statisticsRetention,
+                                   boolean isPopulationInStatistics, Optional<ToDoubleFunction<K>> fitnessAsDouble,
+                                   int offspringPerGeneration,
+                                   Optional<BatchFitnessAssessmentStrategy<T, K>> batchFitnessAssessment, int batchSize,
+                                   boolean isMetricsEnabled, Optional<MetricsListener> metricsListener, Optional<String> metricsMBeanName,
+                                   Optional<CheckpointPolicy<V, K>> checkpointPolicy,
+                                   Optional<DeltaFitnessAssessmentStrategy<V, K, ?>> deltaFitnessAssessment,
+                                   boolean isAdaptiveParallelism,
+                                   Optional<SurrogatePolicy<V>> surrogatePolicy,
+                                   Optional<RunLogPolicy> runLogPolicy,
+                                   Optional<DiversityMeasure<V>> diversityMeasure, Optional<StagnationPolicy> stagnationPolicy) {
         this.fitnessTweakingStrategy = fitnessTweakingStrategy;
         this.fitnessAssessment = fitnessAssessment;
         this.populationInitialization = populationInitialization;
@@ -48,6 +88,34 @@ public class EvolutionConfiguration<V, T, K extends Comparable<K>, L extends Sta
         this.probabilityOfCrossover = probabilityOfCrossover;
         this.terminationCondition = terminationCondition;
         this.decoding = decoding;
+        this.fitnessCacheSize = fitnessCacheSize;
+        this.genesEquivalence = genesEquivalence;
+        this.executorService = executorService;
+        this.chunkSize = chunkSize;
+        this.isVirtualThreadPerEvaluation = isVirtualThreadPerEvaluation;
+        this.seed = seed;
+        this.incrementalTerminationCondition = incrementalTerminationCondition;
+        this.epochListener = epochListener;
+        this.statisticsRetention = statisticsRetention;
+        this.isPopulationInStatistics = isPopulationInStatistics;
+        this.fitnessAsDouble = fitnessAsDouble;
+        this.offspringPerGeneration = offspringPerGeneration;
+        this.batchFitnessAssessment = batchFitnessAssessment;
+        this.batchSize = batchSize;
+        this.isMetricsEnabled = isMetricsEnabled;
+        this.metricsListener = metricsListener;
+        this.metricsMBeanName = metricsMBeanName;
+        this.checkpointPolicy = checkpointPolicy;
+        this.deltaFitnessAssessment = deltaFitnessAssessment;
+        this.isAdaptiveParallelism = isAdaptiveParallelism;
+        this.surrogatePolicy = surrogatePolicy;
+        this.runLogPolicy = runLogPolicy;
+        this.diversityMeasure = diversityMeasure;
+        this.stagnationPolicy = stagnationPolicy;
+    }
+
+    public boolean isFitnessCacheEnabled() {
+        return fitnessCacheSize > 0;
     }
 
 }
@@ -6,6 +6,8 @@ import cz.eoa.templates.operations.*;
 import lombok.NoArgsConstructor;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ToDoubleFunction;
 
 @NoArgsConstructor
 public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
@@ -24,14 +26,55 @@ public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L exte
     private double probabilityOfCrossover = 0.75;
     private TerminationCondition<V, T, K, L> terminationCondition = null;
     private DecodingStrategy<V, T> decoding = null;
+    //0 means no cache
+    private int fitnessCacheSize = 0;
+    private GenesEquivalence<V> genesEquivalence = GenesEquivalence.arrayAware();
+    //common ForkJoinPool when it is not set
+    private Optional<ExecutorService> executorService = Optional.empty();
+    //0 means to derive chunk size from parallelism
+    private int chunkSize = 0;
+    private boolean isVirtualThreadPerEvaluation = false;
+    //random seed for each run when it is not set
+    private Optional<Long> seed = Optional.empty();
+    private Optional<IncrementalTerminationCondition<V, T, K, L>> incrementalTerminationCondition = Optional.empty();
+    private Optional<EpochListener<V, T, K, L>> epochListener = Optional.empty();
+    //0 means to keep statistics of all epochs
+    private int statisticsRetention = 0;
+    private boolean isPopulationInStatistics = true;
+    //enables aggregated fitness in statistics
+    private Optional<ToDoubleFunction<K>> fitnessAsDouble = Optional.empty();
+    //0 means to breed until population is full
+    private int offspringPerGeneration = 0;
+    private Optional<BatchFitnessAssessmentStrategy<T, K>> batchFitnessAssessment = Optional.empty();
+    private int batchSize = 0;
+    private boolean isMetricsEnabled = false;
+    private Optional<MetricsListener> metricsListener = Optional.empty();
+    private Optional<String> metricsMBeanName = Optional.empty();
+    private Optional<CheckpointPolicy<V, K>> checkpointPolicy = Optional.empty();
+    //evaluates offspring created only by mutation incrementally
+    private Optional<DeltaFitnessAssessmentStrategy<V, K, ?>> deltaFitnessAssessment = Optional.empty();
+    //chooses sequential or parallel execution of each stage by measured time
+    private boolean isAdaptiveParallelism = false;
+    //screens offspring by estimated fitness before evaluation
+    private Optional<SurrogatePolicy<V>> surrogatePolicy = Optional.empty();
+    //writes statistics of epochs to file on background thread
+    private Optional<RunLogPolicy> runLogPolicy = Optional.empty();
+    //tracks diversity of population, it is added to statistics
+    private Optional<DiversityMeasure<V>> diversityMeasure = Optional.empty();
+    private Optional<StagnationPolicy> stagnationPolicy = Optional.empty();
 
     public EvolutionConfigurationBuilder<V, T, K, L> fitnessTweakingStrategy(FitnessTweakingStrategy<V, T, K> fitnessTweakingStrategy) {
         this.fitnessTweakingStrategy = Optional.ofNullable(fitnessTweakingStrategy);
         return copy();
     }
 
+    /**
+     * Replaces batch fitness assessment if it was set before
+     */
     public EvolutionConfigurationBuilder<V, T, K, L> fitnessAssessment(FitnessAssessmentStrategy<T, K> fitnessAssessment) {
         this.fitnessAssessment = fitnessAssessment;
+        this.batchFitnessAssessment = Optional.empty();
+        this.batchSize = 0;
         return copy();
     }
 
@@ -95,10 +138,187 @@ public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L exte
         return copy();
     }
 
-    private EvolutionConfigurationBuilder<V, T, K, L> copy() {
+    public EvolutionConfigurationBuilder<V, T, K, L> fitnessCache(int maximumSize) {
+        this.fitnessCacheSize = maximumSize;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> genesEquivalence(GenesEquivalence<V> genesEquivalence) {
+        this.genesEquivalence = genesEquivalence;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> executorService(ExecutorService executorService) {
+        this.executorService = Optional.ofNullable(executorService);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> chunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> virtualThreadPerEvaluation(boolean virtualThreadPerEvaluation) {
+        isVirtualThreadPerEvaluation = virtualThreadPerEvaluation;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> seed(long seed) {
+        this.seed = Optional.of(seed);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> incrementalTerminationCondition(IncrementalTerminationCondition<V, T, K, L> incrementalTerminationCondition) {
+        this.incrementalTerminationCondition = Optional.ofNullable(incrementalTerminationCondition);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> epochListener(EpochListener<V, T, K, L> epochListener) {
+        this.epochListener = Optional.ofNullable(epochListener);
+        return copy();
+    }
+
+    /**
+     * Keeps statistics of the last epochs only, 0 keeps all of them. Size of statistics given to termination condition
+     * stops growing at the limit, so condition has to use number of epoch of the latest statistics rather than their
+     * count, condition like 'epochs.size() < 100' never terminates with limit lower than 100.
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> statisticsRetention(int lastEpochs) {
+        if (lastEpochs < 0) {
+            throw new IllegalArgumentException("Count of retained epochs can not be negative");
+        }
+        this.statisticsRetention = lastEpochs;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> populationInStatistics(boolean populationInStatistics) {
+        isPopulationInStatistics = populationInStatistics;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> fitnessAsDouble(ToDoubleFunction<K> fitnessAsDouble) {
+        this.fitnessAsDouble = Optional.ofNullable(fitnessAsDouble);
+        return copy();
+    }
+
+    /**
+     * Number of offspring bred in each generation in addition to individuals kept by replacement. When they would not
+     * fill population, offspring is bred up to population size, so population never shrinks
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> offspringPerGeneration(int offspringPerGeneration) {
+        if (offspringPerGeneration < 0) {
+            throw new IllegalArgumentException("Count of offspring can not be negative");
+        }
+        this.offspringPerGeneration = offspringPerGeneration;
+        return copy();
+    }
+
+    /**
+     * Evaluates offspring of generation in batches of given size, batches run in parallel if evolution is parallel.
+     * The strategy is also used as fitness assessment of single solutions, it replaces fitness assessment set before.
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> batchFitnessAssessment(BatchFitnessAssessmentStrategy<T, K> batchFitnessAssessment, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Size of batch has to be positive, got " + batchSize);
+        }
+        this.fitnessAssessment = batchFitnessAssessment;
+        this.batchFitnessAssessment = Optional.ofNullable(batchFitnessAssessment);
+        this.batchSize = batchSize;
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> metrics(boolean metrics) {
+        isMetricsEnabled = metrics;
+        return copy();
+    }
+
+    /**
+     * Enables metrics and notifies listener with them after each epoch
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> metricsListener(MetricsListener metricsListener) {
+        this.isMetricsEnabled = true;
+        this.metricsListener = Optional.ofNullable(metricsListener);
+        return copy();
+    }
+
+    /**
+     * Enables metrics and exposes them as JMX MBean cz.eoa:type=EvolutionExecutor,name=given name
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> metricsMBean(String name) {
+        this.isMetricsEnabled = true;
+        this.metricsMBeanName = Optional.ofNullable(name);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> checkpoint(CheckpointPolicy<V, K> checkpointPolicy) {
+        this.checkpointPolicy = Optional.ofNullable(checkpointPolicy);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> deltaFitnessAssessment(DeltaFitnessAssessmentStrategy<V, K, ?> deltaFitnessAssessment) {
+        this.deltaFitnessAssessment = Optional.ofNullable(deltaFitnessAssessment);
+        return copy();
+    }
+
+    /**
+     * Measures time of initialization, breeding, evaluation and fitness tweaking and chooses for each of them whether
+     * it runs sequentially or in parallel and the size of chunks. Choices are measured again periodically and they are
+     * reported in statistics. Parallel flag and chunk size are not used then.
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> adaptiveParallelism(boolean adaptiveParallelism) {
+        isAdaptiveParallelism = adaptiveParallelism;
+        return copy();
+    }
+
+    /**
+     * Offspring of generation is screened by surrogate model, only the most promising part of it is evaluated.
+     * Fitness has to be convertible to double - by 'fitnessAsDouble' or double fitness assessment.
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> surrogate(SurrogatePolicy<V> surrogatePolicy) {
+        this.surrogatePolicy = Optional.ofNullable(surrogatePolicy);
+        return copy();
+    }
+
+    /**
+     * Statistics of epochs are written to file as CSV or JSON lines by background thread
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> runLog(RunLogPolicy runLogPolicy) {
+        this.runLogPolicy = Optional.ofNullable(runLogPolicy);
+        return copy();
+    }
+
+    public EvolutionConfigurationBuilder<V, T, K, L> diversity(DiversityMeasure<V> diversityMeasure) {
+        this.diversityMeasure = Optional.ofNullable(diversityMeasure);
+        return copy();
+    }
+
+    /**
+     * Restarts or mutates part of population when it stagnates
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> stagnation(StagnationPolicy stagnationPolicy) {
+        this.stagnationPolicy = Optional.ofNullable(stagnationPolicy);
+        return copy();
+    }
+
+    /**
+     * Independent builder with the same settings. Setters modify builder they are called on as well as they return its
+     * copy, so builder shared by more configurations has to be copied before it is changed
+     */
+    public EvolutionConfigurationBuilder<V, T, K, L> copy() {
         return new EvolutionConfigurationBuilder<>(fitnessTweakingStrategy, fitnessAssessment, populationInitialization,
                 crossover, mutation, replacement, selector, isParallel, isFitnessIsMaximized, statisticsCreation, populationSize,
-                probabilityOfCrossover, terminationCondition, decoding);
+                probabilityOfCrossover, terminationCondition, decoding, fitnessCacheSize, genesEquivalence,
+                executorService, chunkSize, isVirtualThreadPerEvaluation, seed,
+                incrementalTerminationCondition, epochListener, statisticsRetention, isPopulationInStatistics, fitnessAsDouble,
+                offspringPerGeneration,
+                batchFitnessAssessment, batchSize,
+                isMetricsEnabled, metricsListener, metricsMBeanName,
+                checkpointPolicy,
+                deltaFitnessAssessment,
+                isAdaptiveParallelism,
+                surrogatePolicy,
+                runLogPolicy,
+                diversityMeasure, stagnationPolicy);
     }
 
     private EvolutionConfigurationBuilder(Optional<FitnessTweakingStrategy<V, T, K>> fitnessTweakingStrategy, FitnessAssessmentStrategy<T, K> fitnessAssessment,
@@ -107,7 +327,20 @@ public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L exte
                                           SelectorStrategy<V, T, K> selector, boolean isParallel, boolean isFitnessIsMaximized,
                                           StatisticsCreationStrategy<V, T, K, L> statisticsCreation, int populationSize, double probabilityOfCrossover,
                                           TerminationCondition<V, T, K, L> terminationCondition,
-                                          DecodingStrategy<V, T> decoding) {
+                                          DecodingStrategy<V, T> decoding, int fitnessCacheSize, GenesEquivalence<V> genesEquivalence,
+                                          Optional<ExecutorService> executorService, int chunkSize, boolean isVirtualThreadPerEvaluation,
+                                          Optional<Long> seed,
+                                          Optional<IncrementalTerminationCondition<V, T, K, L>> incrementalTerminationCondition, Optional<EpochListener<V, T, K, L>> epochListener, int statisticsRetention,
+                                          boolean isPopulationInStatistics, Optional<ToDoubleFunction<K>> fitnessAsDouble,
+                                          int offspringPerGeneration,
+                                          Optional<BatchFitnessAssessmentStrategy<T, K>> batchFitnessAssessment, int batchSize,
+                                          boolean isMetricsEnabled, Optional<MetricsListener> metricsListener, Optional<String> metricsMBeanName,
+                                          Optional<CheckpointPolicy<V, K>> checkpointPolicy,
+                                          Optional<DeltaFitnessAssessmentStrategy<V, K, ?>> deltaFitnessAssessment,
+                                          boolean isAdaptiveParallelism,
+                                          Optional<SurrogatePolicy<V>> surrogatePolicy,
+                                          Optional<RunLogPolicy> runLogPolicy,
+                                          Optional<DiversityMeasure<V>> diversityMeasure, Optional<StagnationPolicy> stagnationPolicy) {
         this.fitnessTweakingStrategy = fitnessTweakingStrategy;
         this.fitnessAssessment = fitnessAssessment;
         this.populationInitialization = populationInitialization;
@@ -122,6 +355,30 @@ public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L exte
         this.probabilityOfCrossover = probabilityOfCrossover;
         this.terminationCondition = terminationCondition;
         this.decoding = decoding;
+        this.fitnessCacheSize = fitnessCacheSize;
+        this.genesEquivalence = genesEquivalence;
+        this.executorService = executorService;
+        this.chunkSize = chunkSize;
+        this.isVirtualThreadPerEvaluation = isVirtualThreadPerEvaluation;
+        this.seed = seed;
+        this.incrementalTerminationCondition = incrementalTerminationCondition;
+        this.epochListener = epochListener;
+        this.statisticsRetention = statisticsRetention;
+        this.isPopulationInStatistics = isPopulationInStatistics;
+        this.fitnessAsDouble = fitnessAsDouble;
+        this.offspringPerGeneration = offspringPerGeneration;
+        this.batchFitnessAssessment = batchFitnessAssessment;
+        this.batchSize = batchSize;
+        this.isMetricsEnabled = isMetricsEnabled;
+        this.metricsListener = metricsListener;
+        this.metricsMBeanName = metricsMBeanName;
+        this.checkpointPolicy = checkpointPolicy;
+        this.deltaFitnessAssessment = deltaFitnessAssessment;
+        this.isAdaptiveParallelism = isAdaptiveParallelism;
+        this.surrogatePolicy = surrogatePolicy;
+        this.runLogPolicy = runLogPolicy;
+        this.diversityMeasure = diversityMeasure;
+        this.stagnationPolicy = stagnationPolicy;
     }
 
     public EvolutionConfiguration<V, T, K, L> build() {
@@ -130,7 +387,18 @@ public class EvolutionConfigurationBuilder<V, T, K extends Comparable<K>, L exte
 
         return new EvolutionConfiguration<>(fitnessTweakingStrategy, fitnessAssessment, populationInitialization,
                 crossover, mutation, replacement, selector, isParallel, isFitnessIsMaximized, statisticsCreation, populationSize,
-                probabilityOfCrossover, terminationCondition, decoding);
+                probabilityOfCrossover, terminationCondition, decoding, fitnessCacheSize, genesEquivalence,
+                executorService, chunkSize, isVirtualThreadPerEvaluation, seed,
+                incrementalTerminationCondition, epochListener, statisticsRetention, isPopulationInStatistics, fitnessAsDouble,
+                offspringPerGeneration,
+                batchFitnessAssessment, batchSize,
+                isMetricsEnabled, metricsListener, metricsMBeanName,
+                checkpointPolicy,
+                deltaFitnessAssessment,
+                isAdaptiveParallelism,
+                surrogatePolicy,
+                runLogPolicy,
+                diversityMeasure, stagnationPolicy);
     }
 
 }
@@ -0,0 +1,11 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.StatisticsPerEpoch;
+
+/**
+ * Termination condition which decides only by statistics of the latest epoch, so no history has to be kept.
+ * Same as {@link TerminationCondition}, evolution continues while it returns true.
+ */
+public interface IncrementalTerminationCondition<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    boolean shouldTerminate(L latestEpoch);
+}
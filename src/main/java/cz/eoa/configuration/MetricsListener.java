@@ -0,0 +1,11 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.EvolutionMetrics;
+
+/**
+ * Notified on evolution thread each time epoch is completed with metrics of the epoch and of the whole run so far, it
+ * should return quickly
+ */
+public interface MetricsListener {
+    void metricsOfEpoch(int epoch, EvolutionMetrics metricsOfEpoch, EvolutionMetrics metricsOfRun);
+}
@@ -0,0 +1,8 @@
+package cz.eoa.configuration;
+
+/**
+ * Format of run log, both have single record per line
+ */
+public enum RunLogFormat {
+    CSV, JSON_LINES
+}
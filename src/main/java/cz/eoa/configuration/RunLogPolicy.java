@@ -0,0 +1,21 @@
+package cz.eoa.configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Where and which epochs are written to run log. Epoch is written every 'interval' epochs (0 means never by interval)
+ * and, when improvements are logged, each time the best fitness of the run improves. Records wait for writer in queue
+ * of given capacity, evolution waits when it is full.
+ */
+@Getter
+@AllArgsConstructor
+public class RunLogPolicy {
+    private final Path path;
+    private final RunLogFormat format;
+    private final int interval;
+    private final boolean isImprovementLogged;
+    private final int queueCapacity;
+}
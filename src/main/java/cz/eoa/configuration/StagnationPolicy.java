@@ -0,0 +1,59 @@
+package cz.eoa.configuration;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What is done when population stagnates - the best fitness did not improve for given number of epochs or diversity
+ * of population fell below given value (only when diversity is measured, 0 disables it). The best 'countOfElites'
+ * individuals are always kept, given share of the rest (the worst ones) is either replaced by new individuals from
+ * population initialization or mutated repeatedly.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StagnationPolicy {
+    private final int epochsWithoutImprovement;
+    private final double minimalDiversity;
+    private final int countOfElites;
+    private final double share;
+    //0 means that individuals are replaced by new ones
+    private final int mutationsPerIndividual;
+
+    /**
+     * Replaces share of population by new individuals
+     */
+    public static StagnationPolicy restart(int epochsWithoutImprovement, double minimalDiversity, int countOfElites, double share) {
+        checkChangedIndividuals(countOfElites, share);
+        return new StagnationPolicy(epochsWithoutImprovement, minimalDiversity, countOfElites, share, 0);
+    }
+
+    /**
+     * Initializes the whole population again, except elites
+     */
+    public static StagnationPolicy reinitialization(int epochsWithoutImprovement, double minimalDiversity, int countOfElites) {
+        return restart(epochsWithoutImprovement, minimalDiversity, countOfElites, 1);
+    }
+
+    /**
+     * Mutates share of population given number of times
+     */
+    public static StagnationPolicy hypermutation(int epochsWithoutImprovement, double minimalDiversity, int countOfElites, double share,
+                                                 int mutationsPerIndividual) {
+        if (mutationsPerIndividual < 1) {
+            throw new IllegalArgumentException("At least one mutation per individual is needed");
+        }
+        checkChangedIndividuals(countOfElites, share);
+        return new StagnationPolicy(epochsWithoutImprovement, minimalDiversity, countOfElites, share, mutationsPerIndividual);
+    }
+
+    private static void checkChangedIndividuals(int countOfElites, double share) {
+        if (countOfElites < 0 || !(share >= 0 && share <= 1)) {
+            throw new IllegalArgumentException("Count of elites can not be negative and share of changed individuals has to be in [0, 1]");
+        }
+    }
+
+    public boolean isHypermutation() {
+        return mutationsPerIndividual > 0;
+    }
+}
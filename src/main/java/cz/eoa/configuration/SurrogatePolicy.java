@@ -0,0 +1,19 @@
+package cz.eoa.configuration;
+
+import cz.eoa.templates.operations.SurrogateModel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How offspring is screened by surrogate model before evaluation. Generation breeds 1 / 'fractionToEvaluate' times
+ * more offspring which has to be evaluated, only the best of them by estimated fitness and 'explorationShare' of
+ * randomly picked ones are evaluated and enter the population, the rest is discarded without evaluation.
+ */
+@Getter
+@AllArgsConstructor
+public class SurrogatePolicy<V> {
+    private final SurrogateModel<V> model;
+    private final double fractionToEvaluate;
+    //share of evaluated offspring picked at random instead of by estimate
+    private final double explorationShare;
+}
@@ -0,0 +1,112 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.SchedulingDecision;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+
+/**
+ * Chooses for each stage of evolutionary cycle whether its tasks run sequentially or in parallel and how many tasks
+ * form single chunk. Each option is measured on the first executions of stage and the one with the lowest time per
+ * task is used. Options are measured again after every 'RECHECK_INTERVAL' executions of stage, so the choice follows
+ * changing cost of stage. Results do not depend on the choice, each task has its own random stream.
+ */
+class AdaptiveScheduler {
+    //parallel options split tasks to given number of chunks per thread, the first option is sequential
+    private static final int[] CHUNKS_PER_THREAD = {0, 1, 4, 16};
+    //each option is measured more times and the fastest measurement is kept, so single slow execution does not decide
+    private static final int SAMPLES = 2;
+    private static final int RECHECK_INTERVAL = 50;
+    private final ExecutorService executorService;
+    private final int parallelism;
+    private final Map<EvolutionStage, StageSchedule> schedules = new EnumMap<>(EvolutionStage.class);
+
+    /**
+     * @param executorService to run parallel tasks on, common ForkJoinPool is used when it is null
+     */
+    AdaptiveScheduler(ExecutorService executorService) {
+        TaskScheduler scheduler = new TaskScheduler(executorService, true, 0);
+        this.executorService = executorService;
+        this.parallelism = scheduler.parallelism();
+    }
+
+    <B> List<B> generate(EvolutionStage stage, int count, IntFunction<B> function) {
+        //there is nothing to split, single tasks also come from workers of steady-state evolution at the same time
+        if (count < 2) {
+            return taskScheduler(0, count).generate(count, function);
+        }
+        StageSchedule schedule = schedules.computeIfAbsent(stage, key -> new StageSchedule());
+        int option = schedule.isMeasuring() ? schedule.measurement % CHUNKS_PER_THREAD.length : schedule.chosenOption;
+        TaskScheduler scheduler = taskScheduler(option, count);
+        long start = System.nanoTime();
+        List<B> results = scheduler.generate(count, function);
+        schedule.record(option, count, System.nanoTime() - start);
+        return results;
+    }
+
+    /**
+     * Current decision for each stage executed so far, keyed by lower case name of stage
+     */
+    Map<String, SchedulingDecision> getDecisions() {
+        Map<String, SchedulingDecision> decisions = new LinkedHashMap<>();
+        schedules.forEach((stage, schedule) -> decisions.put(stage.name().toLowerCase(), new SchedulingDecision(
+                schedule.chosenOption > 0, chunkSize(schedule.chosenOption, schedule.lastCount), schedule.nanosPerTask[schedule.chosenOption], schedule.isMeasuring())));
+        return decisions;
+    }
+
+    private TaskScheduler taskScheduler(int option, int count) {
+        return new TaskScheduler(executorService, option > 0, chunkSize(option, count));
+    }
+
+    private int chunkSize(int option, int count) {
+        return option == 0 ? count : Math.max(1, count / (parallelism * CHUNKS_PER_THREAD[option]));
+    }
+
+    private static class StageSchedule {
+        private final double[] nanosPerTask = new double[CHUNKS_PER_THREAD.length];
+        //index of the next measurement, all options are measured when it reaches count of options times samples
+        private int measurement = 0;
+        private int chosenOption = 0;
+        private int lastCount = 0;
+        private int executionsSinceChoice = 0;
+
+        private StageSchedule() {
+            Arrays.fill(nanosPerTask, Double.POSITIVE_INFINITY);
+        }
+
+        private boolean isMeasuring() {
+            return measurement < CHUNKS_PER_THREAD.length * SAMPLES;
+        }
+
+        private void record(int option, int count, long nanos) {
+            lastCount = count;
+            if (!isMeasuring()) {
+                if (++executionsSinceChoice == RECHECK_INTERVAL) {
+                    measurement = 0;
+                }
+                return;
+            }
+            if (measurement < CHUNKS_PER_THREAD.length) {
+                //the first sample of option in new round of measurements replaces the old one
+                nanosPerTask[option] = (double) nanos / count;
+            } else {
+                nanosPerTask[option] = Math.min(nanosPerTask[option], (double) nanos / count);
+            }
+            measurement++;
+            if (!isMeasuring()) {
+                chosenOption = 0;
+                for (int i = 1; i < nanosPerTask.length; i++) {
+                    if (nanosPerTask[i] < nanosPerTask[chosenOption]) {
+                        chosenOption = i;
+                    }
+                }
+                executionsSinceChoice = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.ArenaConfiguration;
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.FitnessAggregates;
+import cz.eoa.templates.GenomeArena;
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.IndividualWithDoubleFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Generational evolution of fixed-length genomes without allocation per individual. Population is stored in two
+ * preallocated arenas - parents are selected from the current one, offspring are written in place to the other one
+ * and arenas are swapped after each generation. The best 'countOfElites' individuals are copied to the next generation,
+ * the rest is bred. Offspring which is copy of parent not changed by mutation keeps fitness of the parent.
+ * Offspring is bred in chunks of fixed number of pairs, each with its own random stream, so runs are repeatable
+ * regardless of parallelism. Objects are created only for statistics - the best individual and, when it is enabled,
+ * population in statistics. General settings are taken from evolution configuration, its operators, replacement,
+ * fitness tweaking, cache, batch evaluation, metrics and checkpoints are not used.
+ */
+public class ArenaEvolutionExecutor<A, L extends StatisticsPerEpoch<A, A, Double>> {
+    private final static Logger logger = Logger.getLogger(ArenaEvolutionExecutor.class.getName());
+    private static final int DEFAULT_PAIRS_PER_CHUNK = 64;
+    private final EvolutionConfiguration<A, A, Double, L> configuration;
+    private final ArenaConfiguration<A> arena;
+    private final TaskScheduler scheduler;
+    private final Optional<AdaptiveScheduler> adaptiveScheduler;
+    private final int pairsPerChunk;
+    private long seed;
+
+    public ArenaEvolutionExecutor(EvolutionConfiguration<A, A, Double, L> configuration, ArenaConfiguration<A> arena) {
+        if (configuration.getFitnessTweakingStrategy().isPresent() || configuration.getCheckpointPolicy().isPresent()) {
+            throw new IllegalArgumentException("Fitness tweaking and checkpoints are not supported by evolution in arena");
+        }
+        if (arena.getCountOfElites() >= configuration.getPopulationSize()) {
+            throw new IllegalArgumentException("Count of elites has to be lower than size of population");
+        }
+        this.configuration = configuration;
+        this.arena = arena;
+        //chunks of the executor are already tasks, so they are not grouped further
+        this.scheduler = new TaskScheduler(configuration.getExecutorService().orElse(null), configuration.isParallel(), 1);
+        this.adaptiveScheduler = configuration.isAdaptiveParallelism()
+                ? Optional.of(new AdaptiveScheduler(configuration.getExecutorService().orElse(null))) : Optional.empty();
+        this.pairsPerChunk = configuration.getChunkSize() > 0 ? configuration.getChunkSize() : DEFAULT_PAIRS_PER_CHUNK;
+    }
+
+    /**
+     * Seed of the last run. Configuring it with the same operators repeats the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<L> run() {
+        EvolutionExecutor<A, A, Double, L> executor = new EvolutionExecutor<>(configuration);
+        EpochHistory<L> epochStatistics = new EpochHistory<>(configuration.getStatisticsRetention());
+        executor.prepareRun();
+        seed = executor.getSeed();
+        try {
+            RandomStreams randomStreams = new RandomStreams(seed);
+            int populationSize = configuration.getPopulationSize();
+
+            //one spare genome for the second child of the last pair when count of bred individuals is odd
+            GenomeArena<A> current = new GenomeArena<>(arena.getArrays(), populationSize + 1, arena.getGenomeLength());
+            GenomeArena<A> next = new GenomeArena<>(arena.getArrays(), populationSize + 1, arena.getGenomeLength());
+            boolean[] isElite = new boolean[populationSize];
+
+            long start = System.currentTimeMillis();
+            GenomeArena<A> initialPopulation = current;
+            execute(randomStreams, 0, EvolutionStage.INITIALIZATION, chunksFor(populationSize), chunk -> initialize(chunk, initialPopulation));
+            executor.recordEpoch(epochStatistics, createNewStatistics(0, start, populationSize, current));
+            logger.info(() -> epochStatistics.getLatest().getSummary());
+
+            int epoch = 1;
+            while (executor.shouldContinue(epochStatistics)) {
+                start = System.currentTimeMillis();
+                copyElites(current, next, isElite);
+                GenomeArena<A> parents = current, offspring = next;
+                int evaluations = execute(randomStreams, epoch, EvolutionStage.BREEDING, chunksFor(populationSize - arena.getCountOfElites()),
+                        chunk -> breed(chunk, parents, offspring));
+                current = offspring;
+                next = parents;
+                executor.recordEpoch(epochStatistics, createNewStatistics(epoch, start, evaluations, current));
+                logger.info(() -> epochStatistics.getLatest().getSummary());
+                epoch++;
+            }
+            return epochStatistics;
+        } finally {
+            executor.finishRun();
+        }
+    }
+
+    private int chunksFor(int countOfIndividuals) {
+        int individualsPerChunk = 2 * pairsPerChunk;
+        return (countOfIndividuals + individualsPerChunk - 1) / individualsPerChunk;
+    }
+
+    /**
+     * Executes chunks, each with its own random stream
+     *
+     * @return sum of fitness evaluations made by chunks
+     */
+    private int execute(RandomStreams randomStreams, int epoch, EvolutionStage stage, int countOfChunks, IntUnaryOperator chunk) {
+        IntFunction<Integer> chunkWithRandom = index -> EvolutionContext.withRandom(randomStreams.stream(epoch, stage, index), () -> chunk.applyAsInt(index));
+        int evaluations = 0;
+        for (int evaluationsOfChunk : adaptiveScheduler.isPresent() ? adaptiveScheduler.get().generate(stage, countOfChunks, chunkWithRandom)
+                : scheduler.generate(countOfChunks, chunkWithRandom)) {
+            evaluations = evaluations + evaluationsOfChunk;
+        }
+        return evaluations;
+    }
+
+    private int initialize(int chunk, GenomeArena<A> population) {
+        int from = chunk * 2 * pairsPerChunk, to = Math.min(configuration.getPopulationSize(), from + 2 * pairsPerChunk);
+        for (int i = from; i < to; i++) {
+            arena.getInitialization().initialize(population.getGenes(), population.offset(i), population.getLength());
+            population.getFitness()[i] = arena.getFitnessAssessment().computeFitness(population.getGenes(), population.offset(i), population.getLength());
+        }
+        return to - from;
+    }
+
+    private int breed(int chunk, GenomeArena<A> parents, GenomeArena<A> offspring) {
+        int populationSize = configuration.getPopulationSize(), length = parents.getLength(), evaluations = 0;
+        int from = arena.getCountOfElites() + chunk * 2 * pairsPerChunk, to = Math.min(populationSize, from + 2 * pairsPerChunk);
+        for (int firstChild = from; firstChild < to; firstChild = firstChild + 2) {
+            int secondChild = firstChild + 1;
+            int firstParent = arena.getSelector().select(parents.getFitness(), populationSize, configuration.isFitnessIsMaximized());
+            int secondParent = arena.getSelector().select(parents.getFitness(), populationSize, configuration.isFitnessIsMaximized());
+            boolean isFitnessKnown;
+            if (EvolutionContext.random().nextDouble() <= configuration.getProbabilityOfCrossover()) {
+                arena.getCrossover().crossover(parents.getGenes(), parents.offset(firstParent), parents.offset(secondParent),
+                        offspring.getGenes(), offspring.offset(firstChild), offspring.offset(secondChild), length);
+                isFitnessKnown = false;
+            } else {
+                parents.copy(firstParent, offspring, firstChild);
+                parents.copy(secondParent, offspring, secondChild);
+                isFitnessKnown = true;
+            }
+            evaluations = evaluations + mutateAndAssess(offspring, firstChild, isFitnessKnown);
+            //second child of odd pair lands in spare genome, it is not part of population
+            if (secondChild < populationSize) {
+                evaluations = evaluations + mutateAndAssess(offspring, secondChild, isFitnessKnown);
+            }
+        }
+        return evaluations;
+    }
+
+    /**
+     * @return number of fitness evaluations made
+     */
+    private int mutateAndAssess(GenomeArena<A> offspring, int index, boolean isFitnessKnown) {
+        boolean isChanged = arena.getMutation().mutate(offspring.getGenes(), offspring.offset(index), offspring.getLength());
+        if (isFitnessKnown && !isChanged) {
+            return 0;
+        }
+        offspring.getFitness()[index] = arena.getFitnessAssessment().computeFitness(offspring.getGenes(), offspring.offset(index), offspring.getLength());
+        return 1;
+    }
+
+    /**
+     * Copies the best individuals to the beginning of the next arena. Each elite is found by single pass over
+     * population, count of elites is expected to be small
+     */
+    private void copyElites(GenomeArena<A> current, GenomeArena<A> next, boolean[] isElite) {
+        int populationSize = configuration.getPopulationSize();
+        for (int elite = 0; elite < arena.getCountOfElites(); elite++) {
+            int best = -1;
+            for (int i = 0; i < populationSize; i++) {
+                if (!isElite[i] && (best == -1 || isBetter(current.getFitness()[i], current.getFitness()[best]))) {
+                    best = i;
+                }
+            }
+            isElite[best] = true;
+            current.copy(best, next, elite);
+        }
+        Arrays.fill(isElite, false);
+    }
+
+    private boolean isBetter(double fitness, double otherFitness) {
+        return configuration.isFitnessIsMaximized() ? fitness > otherFitness : fitness < otherFitness;
+    }
+
+    private L createNewStatistics(int epoch, long startTime, int countOfFitnessEvaluation, GenomeArena<A> population) {
+        int populationSize = configuration.getPopulationSize(), best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (isBetter(population.getFitness()[i], population.getFitness()[best])) {
+                best = i;
+            }
+        }
+        List<IndividualWithAssignedFitness<A, A, Double>> individuals = Collections.emptyList();
+        if (configuration.isPopulationInStatistics()) {
+            individuals = new ArrayList<>(populationSize);
+            for (int i = 0; i < populationSize; i++) {
+                individuals.add(toIndividual(population, i));
+            }
+            individuals = Collections.unmodifiableList(individuals);
+        }
+        L statistics = configuration.getStatisticsCreation().returnStatistics(epoch, System.currentTimeMillis() - startTime,
+                countOfFitnessEvaluation, toIndividual(population, best), individuals);
+        statistics.setFitnessAggregates(Optional.of(FitnessAggregates.of(population.getFitness(), populationSize)));
+        adaptiveScheduler.ifPresent(adaptive -> statistics.setScheduling(Optional.of(adaptive.getDecisions())));
+        return statistics;
+    }
+
+    private IndividualWithAssignedFitness<A, A, Double> toIndividual(GenomeArena<A> population, int index) {
+        return new IndividualWithDoubleFitness<>(new Individual<>(population.copyOfGenes(index)), population.getFitness()[index]);
+    }
+}
@@ -0,0 +1,147 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.BinaryCodec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Population of single epoch together with seed of the run. Random streams are derived from seed and epoch, so run
+ * resumed from checkpoint breeds the same way as it would without interruption. State kept by executor outside of
+ * population is not saved: fitness cache starts empty (so more evaluations may be counted), surrogate model learns
+ * only from restored population and stagnation is detected from the epoch of checkpoint. Run with any of them may
+ * diverge from the uninterrupted one.
+ * In file, header (magic, version, seed, epoch, size of population) is followed by genes and fitness of each individual
+ * written by codecs.
+ */
+@Getter
+@AllArgsConstructor
+public class Checkpoint<V, K> {
+    private static final int MAGIC = 0x4645564F;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    private final long seed;
+    private final int epoch;
+    private final List<V> genes;
+    private final List<K> fitness;
+
+    /**
+     * Reads checkpoint from memory mapped file, so only genes and fitness are copied to heap. File is mapped in windows,
+     * individual which does not fit the rest of window is read again from the next window starting with it. Codecs
+     * check lengths before allocation, so truncated or corrupt file fails with IOException
+     */
+    public static <V, K> Checkpoint<V, K> read(Path path, BinaryCodec<V> genomeCodec, BinaryCodec<K> fitnessCodec) throws IOException {
+        return read(path, genomeCodec, fitnessCodec, WINDOW_SIZE);
+    }
+
+    static <V, K> Checkpoint<V, K> read(Path path, BinaryCodec<V> genomeCodec, BinaryCodec<K> fitnessCodec, int sizeOfFirstWindow) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long sizeOfFile = channel.size();
+            long startOfWindow = 0;
+            int sizeOfWindow = Math.max(HEADER_SIZE, sizeOfFirstWindow);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(sizeOfWindow, sizeOfFile));
+            if (window.remaining() < HEADER_SIZE || window.getInt() != MAGIC) {
+                throw new IOException(path + " is not checkpoint of evolution");
+            }
+            int version = window.getInt();
+            if (version != VERSION) {
+                throw new IOException("Checkpoint " + path + " has unsupported version " + version);
+            }
+            long seed = window.getLong();
+            int epoch = window.getInt(), size = window.getInt();
+            if (size < 0) {
+                throw new IOException("Checkpoint " + path + " is corrupt, size of population is negative");
+            }
+            //size is not trusted before individuals are read
+            List<V> genes = new ArrayList<>((int) Math.min(size, sizeOfFile - HEADER_SIZE));
+            List<K> fitness = new ArrayList<>((int) Math.min(size, sizeOfFile - HEADER_SIZE));
+            while (genes.size() < size) {
+                int startOfIndividual = window.position();
+                try {
+                    V genesOfIndividual = genomeCodec.read(window);
+                    fitness.add(fitnessCodec.read(window));
+                    genes.add(genesOfIndividual);
+                } catch (BufferUnderflowException e) {
+                    if (startOfWindow + window.limit() == sizeOfFile) {
+                        throw new IOException("Checkpoint " + path + " is truncated, it ends in individual " + genes.size());
+                    }
+                    //individual larger than whole window needs larger one
+                    if (startOfIndividual == 0) {
+                        sizeOfWindow = (int) Math.min(Integer.MAX_VALUE, 2L * sizeOfWindow);
+                    }
+                    startOfWindow = startOfWindow + startOfIndividual;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, startOfWindow, Math.min(sizeOfWindow, sizeOfFile - startOfWindow));
+                } catch (IllegalStateException e) {
+                    throw new IOException("Checkpoint " + path + " is corrupt in individual " + genes.size(), e);
+                }
+            }
+            return new Checkpoint<>(seed, epoch, Collections.unmodifiableList(genes), Collections.unmodifiableList(fitness));
+        }
+    }
+
+    /**
+     * Writes population to temporary file next to the target one and renames it to target, so the target is always
+     * complete checkpoint. Tweaked fitness is not written, individuals are saved with their original fitness.
+     */
+    static <V, T, K extends Comparable<K>> void write(Path path, long seed, int epoch, List<IndividualWithAssignedFitness<V, T, K>> population,
+                                                      BinaryCodec<V> genomeCodec, BinaryCodec<K> fitnessCodec) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            writeTo(temporary, seed, epoch, population, genomeCodec, fitnessCodec);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException deletion) {
+                e.addSuppressed(deletion);
+            }
+            throw e;
+        }
+    }
+
+    private static <V, T, K extends Comparable<K>> void writeTo(Path temporary, long seed, int epoch, List<IndividualWithAssignedFitness<V, T, K>> population,
+                                                                BinaryCodec<V> genomeCodec, BinaryCodec<K> fitnessCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(seed).putInt(epoch).putInt(population.size());
+            for (IndividualWithAssignedFitness<V, T, K> individual : population) {
+                IndividualWithAssignedFitness<V, T, K> original = EvolutionExecutor.withOriginalFitness(individual);
+                int size = genomeCodec.sizeOf(original.getGenes()) + fitnessCodec.sizeOf(original.getFitness());
+                if (buffer.remaining() < size) {
+                    flush(channel, buffer);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocateDirect(size);
+                    }
+                }
+                genomeCodec.write(original.getGenes(), buffer);
+                fitnessCodec.write(original.getFitness(), buffer);
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.CheckpointPolicy;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes checkpoints on its own thread, so evolution does not wait for disk. At most one write is in progress, when
+ * checkpoint is due before the previous one is written, it is skipped. Failed write is logged and evolution goes on.
+ */
+class CheckpointWriter<V, T, K extends Comparable<K>> implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(CheckpointWriter.class.getName());
+    private final CheckpointPolicy<V, K> policy;
+    private final ExecutorService thread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread writer = new Thread(runnable, "checkpoint-writer");
+        writer.setDaemon(true);
+        return writer;
+    });
+    private Future<?> pendingWrite = CompletableFuture.completedFuture(null);
+
+    CheckpointWriter(CheckpointPolicy<V, K> policy) {
+        if (policy.getInterval() <= 0) {
+            throw new IllegalArgumentException("Interval of checkpoints has to be positive, got " + policy.getInterval());
+        }
+        this.policy = policy;
+    }
+
+    boolean isDue(int epoch) {
+        return epoch % policy.getInterval() == 0;
+    }
+
+    /**
+     * Returns false when checkpoint is skipped. Population is not copied, it must not be modified afterwards
+     */
+    boolean write(long seed, int epoch, List<IndividualWithAssignedFitness<V, T, K>> population) {
+        if (!pendingWrite.isDone()) {
+            logger.warning("Checkpoint of epoch " + epoch + " is skipped, the previous one is still being written");
+            return false;
+        }
+        pendingWrite = thread.submit(() -> {
+            try {
+                Checkpoint.write(policy.getPath(), seed, epoch, population, policy.getGenomeCodec(), policy.getFitnessCodec());
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Checkpoint of epoch " + epoch + " could not be written to " + policy.getPath(), e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Waits for write in progress
+     */
+    void awaitPendingWrite() {
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.log(Level.SEVERE, "Checkpoint could not be written to " + policy.getPath(), e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        awaitPendingWrite();
+        thread.shutdown();
+    }
+}
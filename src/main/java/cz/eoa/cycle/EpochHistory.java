@@ -0,0 +1,54 @@
+package cz.eoa.cycle;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Statistics of epochs of single run. When capacity is set, only the latest epochs are kept in ring buffer and size
+ * never exceeds capacity
+ */
+public class EpochHistory<L> extends AbstractList<L> implements RandomAccess {
+    private final int capacity;
+    private final List<L> epochs;
+    //index of the oldest epoch in full buffer
+    private int start = 0;
+
+    /**
+     * @param capacity maximal number of kept epochs, 0 means to keep all of them
+     */
+    public EpochHistory(int capacity) {
+        this.capacity = capacity;
+        this.epochs = capacity > 0 ? new ArrayList<>(capacity) : new ArrayList<>();
+    }
+
+    @Override
+    public boolean add(L statistics) {
+        if (capacity > 0 && epochs.size() == capacity) {
+            epochs.set(start, statistics);
+            start = (start + 1) % capacity;
+        } else {
+            epochs.add(statistics);
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public L get(int index) {
+        if (index < 0 || index >= epochs.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of history of size " + epochs.size());
+        }
+        return epochs.get(capacity > 0 ? (start + index) % capacity : index);
+    }
+
+    @Override
+    public int size() {
+        return epochs.size();
+    }
+
+    public L getLatest() {
+        return get(size() - 1);
+    }
+}
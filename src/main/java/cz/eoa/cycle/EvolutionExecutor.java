@@ -1,156 +1,959 @@
 package cz.eoa.cycle;
 
+import cz.eoa.configuration.CheckpointPolicy;
 import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.configuration.StagnationPolicy;
+import cz.eoa.configuration.SurrogatePolicy;
+import cz.eoa.templates.DeltaEvaluation;
+import cz.eoa.templates.DoublePopulation;
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.EvolutionMetrics;
+import cz.eoa.templates.EvolutionPhase;
+import cz.eoa.templates.FitnessAggregates;
+import cz.eoa.templates.FitnessCacheStatistics;
 import cz.eoa.templates.Individual;
 import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.IndividualWithDoubleFitness;
 import cz.eoa.templates.IndividualWithTweakedFitness;
+import cz.eoa.templates.MutatedIndividual;
 import cz.eoa.templates.StatisticsPerEpoch;
+import cz.eoa.templates.SurrogateStatistics;
+import cz.eoa.templates.operations.BatchFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.DeltaFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.DiversityMeasure;
+import cz.eoa.templates.operations.DoubleFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.FitnessAssessmentStrategy;
 import cz.eoa.templates.operations.IndividualFitnessUpdater;
+import cz.eoa.templates.operations.SelectorStrategy;
+import cz.eoa.templates.operations.SurrogateModel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class EvolutionExecutor<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
     private final EvolutionConfiguration<V, T, K, L> configuration;
     private final static Logger logger = Logger.getLogger(EvolutionExecutor.class.getName());
-    private final static Random RANDOM = new Random();
+    //second parent is selected again at most this many times when it equals the first one, converged population or
+    //selector which prefers single individual may have no other parent
+    private static final int SELECTIONS_OF_DISTINCT_PARENT = 16;
+    private final TaskScheduler scheduler;
+    private TaskScheduler evaluationScheduler;
+    //virtual threads of the current run, executor is shut down when run finishes
+    private Optional<ExecutorService> virtualThreadExecutor = Optional.empty();
+    //present when parallelism is adaptive, it replaces scheduler then
+    private final Optional<AdaptiveScheduler> adaptiveScheduler;
+    //present when fitness is primitive, individuals and populations keep it unboxed then
+    private final Optional<DoubleFitnessAssessmentStrategy<T>> doubleFitnessAssessment;
+    private final Optional<DeltaFitnessAssessmentStrategy<V, K, ?>> deltaFitnessAssessment;
+    private final Optional<SurrogatePolicy<V>> surrogatePolicy;
+    private Optional<FitnessCache<V, K>> fitnessCache = Optional.empty();
+    private FitnessCacheStatistics lastCacheStatistics = new FitnessCacheStatistics(0, 0, 0, 0);
+    private RandomStreams randomStreams = new RandomStreams(0);
+    private MetricsRecorder metrics = new MetricsRecorder(false);
+    private EvolutionMetrics lastMetrics = metrics.snapshot();
+    private Optional<EvolutionMetricsBean> metricsBean = Optional.empty();
+    private Optional<RunLogWriter<V, T, K, L>> runLog = Optional.empty();
+    //genes of population known to diversity measure with number of their occurrences
+    private final Map<V, Integer> measuredGenes = new IdentityHashMap<>();
+    private K bestFitnessOfRun = null;
+    private int epochOfImprovement = 0;
+    private boolean isStagnating = false;
+    private long surrogateEstimates = 0, skippedEvaluations = 0, lastSurrogateEstimates = 0, lastSkippedEvaluations = 0;
+    //fitness evaluations of the run, individuals with cached fitness are not counted
+    private final LongAdder evaluations = new LongAdder();
+    //present while run started asynchronously is in progress
+    private volatile Optional<RunControl<V, T, K>> runControl = Optional.empty();
 
     public EvolutionExecutor(EvolutionConfiguration<V, T, K, L> configuration) {
         this.configuration = configuration;
+        this.scheduler = new TaskScheduler(configuration.getExecutorService().orElse(null), configuration.isParallel(), configuration.getChunkSize());
+        this.evaluationScheduler = scheduler;
+        this.adaptiveScheduler = configuration.isAdaptiveParallelism()
+                ? Optional.of(new AdaptiveScheduler(configuration.getExecutorService().orElse(null))) : Optional.empty();
+        this.deltaFitnessAssessment = configuration.getDeltaFitnessAssessment();
+        this.doubleFitnessAssessment = configuration.getFitnessAssessment() instanceof DoubleFitnessAssessmentStrategy
+                ? Optional.of(asDoubleFitnessAssessment(configuration.getFitnessAssessment())) : Optional.empty();
+        this.surrogatePolicy = configuration.getSurrogatePolicy();
+        if (surrogatePolicy.isPresent()) {
+            if (!(surrogatePolicy.get().getFractionToEvaluate() > 0 && surrogatePolicy.get().getFractionToEvaluate() <= 1)
+                    || surrogatePolicy.get().getExplorationShare() < 0 || surrogatePolicy.get().getExplorationShare() > 1) {
+                throw new IllegalArgumentException("Fraction to evaluate has to be in (0, 1], exploration share in [0, 1]");
+            }
+            if (!configuration.getFitnessAsDouble().isPresent() && !doubleFitnessAssessment.isPresent()) {
+                throw new IllegalArgumentException("Fitness has to be convertible to double to be estimated by surrogate model");
+            }
+        }
+        if (configuration.getStagnationPolicy().isPresent() && configuration.getStagnationPolicy().get().isHypermutation() && !configuration.getMutation().isPresent()) {
+            throw new IllegalArgumentException("Hypermutation needs mutation to be configured");
+        }
     }
 
     public List<L> run() {
-        List<L> epochStatistics = new ArrayList<>();
+        prepareRun();
 
         //start init first population
         long start = System.currentTimeMillis();
-        Stream<Individual<V, T>> populationStream = IntStream.range(0, configuration.getPopulationSize()).boxed()
-                .map(integer -> configuration.getPopulationInitialization().initialize());
-        Stream<IndividualWithAssignedFitness<V, T, K>> populationWithAssignedFitness = assignFitnessToIndividuals(populationStream);
+        List<IndividualWithAssignedFitness<V, T, K>> currentPopulation;
+        try {
+            currentPopulation = createInitialPopulation();
+        } catch (RuntimeException e) {
+            finishRun();
+            throw e;
+        }
+        return evolve(0, start, (int) evaluations.sum(), currentPopulation);
+    }
+
+    /**
+     * Starts run on its own thread without limits
+     */
+    public EvolutionRun<V, T, K, L> runAsync() {
+        return runAsync(RunBudget.unlimited());
+    }
+
+    /**
+     * Starts run on its own thread. Budget is checked before each fitness evaluation, when it is exhausted, the
+     * generation in progress is abandoned and result completes with statistics of finished epochs. Executor should not
+     * be used for another run until result completes
+     */
+    public EvolutionRun<V, T, K, L> runAsync(RunBudget budget) {
+        RunControl<V, T, K> control = new RunControl<>(budget, configuration.isFitnessIsMaximized());
+        CompletableFuture<List<L>> result = new CompletableFuture<>();
+        EvolutionRun<V, T, K, L> evolutionRun = new EvolutionRun<>(control, result);
+        runControl = Optional.of(control);
+        Thread thread = new Thread(() -> {
+            List<L> statistics = Collections.emptyList();
+            Throwable failure = null;
+            try {
+                statistics = run();
+            } catch (RunStoppedException e) {
+                //stopped before the first population was evaluated
+            } catch (Throwable e) {
+                failure = e;
+            }
+            //reason of the end is settled before result completes, executor is free for another run then
+            control.complete();
+            runControl = Optional.empty();
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else if (control.getStopReason().get() == RunControl.StopReason.CANCELLATION) {
+                result.completeExceptionally(new CancellationException("Run was cancelled"));
+            } else {
+                result.complete(statistics);
+            }
+        }, "evolution-run");
+        thread.setDaemon(true);
+        thread.start();
+        return evolutionRun;
+    }
+
+    /**
+     * Continues run saved in checkpoint file, it is read by codecs of configured checkpoint policy
+     */
+    public List<L> resume(Path checkpoint) {
+        CheckpointPolicy<V, K> checkpointPolicy = configuration.getCheckpointPolicy()
+                .orElseThrow(() -> new IllegalStateException("Checkpoint policy has to be configured to read checkpoint"));
+        try {
+            return resume(Checkpoint.read(checkpoint, checkpointPolicy.getGenomeCodec(), checkpointPolicy.getFitnessCodec()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Continues run from checkpoint with its seed. Statistics start with epoch of checkpoint, so termination condition
+     * should be based on number of epoch rather than on number of statistics
+     */
+    public List<L> resume(Checkpoint<V, K> checkpoint) {
+        prepareRun(checkpoint.getSeed());
+
+        long start = System.currentTimeMillis();
+        List<IndividualWithAssignedFitness<V, T, K>> restoredPopulation = new ArrayList<>(checkpoint.getGenes().size());
+        for (int i = 0; i < checkpoint.getGenes().size(); i++) {
+            restoredPopulation.add(withFitness(new Individual<>(checkpoint.getGenes().get(i)), checkpoint.getFitness().get(i)));
+        }
+        learn(restoredPopulation);
+        //tweaked fitness is not saved, compute it again the same way as in original run
+        return evolve(checkpoint.getEpoch(), start, 0, asPopulation(recomputeFitnessForPopulation(checkpoint.getEpoch(), restoredPopulation)));
+    }
+
+    private List<L> evolve(int firstEpoch, long start, int countOfFitnessEvaluations, List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
+        EpochHistory<L> epochStatistics = new EpochHistory<>(configuration.getStatisticsRetention());
+        Optional<CheckpointWriter<V, T, K>> checkpointWriter = configuration.getCheckpointPolicy().map(CheckpointWriter::new);
+        try {
+            measureDiversity(currentPopulation);
+            L firstStatistics = createNewStatistics(firstEpoch, start, countOfFitnessEvaluations, currentPopulation);
+            detectStagnation(firstStatistics);
+            recordEpoch(epochStatistics, firstStatistics);
+            logger.info(() -> epochStatistics.getLatest().getSummary());
+
+            //execute epochs, terminate when user's condition is met
+            int epoch = firstEpoch + 1, lastSavedEpoch = firstEpoch;
+            while (shouldContinue(epochStatistics)) {
+                start = System.currentTimeMillis();
+                Generation generation;
+                try {
+                    generation = createNextGeneration(epoch, currentPopulation);
+                } catch (RunStoppedException e) {
+                    int stoppedEpoch = epoch;
+                    logger.info(() -> "Run was stopped in epoch " + stoppedEpoch);
+                    break;
+                }
+                currentPopulation = generation.getPopulation();
+                measureDiversity(currentPopulation);
+                L statistics = createNewStatistics(epoch, start, generation.getFitnessEvaluations(), generation);
+                detectStagnation(statistics);
+                recordEpoch(epochStatistics, statistics);
+                logger.info(() -> epochStatistics.getLatest().getSummary());
+                if (checkpointWriter.isPresent() && checkpointWriter.get().isDue(epoch)
+                        && checkpointWriter.get().write(randomStreams.getSeed(), epoch, currentPopulation)) {
+                    lastSavedEpoch = epoch;
+                }
+
+                epoch++;
+            }
+
+            //the last population is always saved
+            if (checkpointWriter.isPresent() && lastSavedEpoch != epoch - 1) {
+                checkpointWriter.get().awaitPendingWrite();
+                checkpointWriter.get().write(randomStreams.getSeed(), epoch - 1, currentPopulation);
+            }
+            return epochStatistics;
+        } finally {
+            checkpointWriter.ifPresent(CheckpointWriter::close);
+            finishRun();
+        }
+    }
+
+    /**
+     * Resets state kept by executor between epochs of single run
+     */
+    void prepareRun() {
+        prepareRun(configuration.getSeed().orElseGet(() -> new SplittableRandom().nextLong()));
+    }
+
+    void prepareRun(long seed) {
+        fitnessCache = configuration.isFitnessCacheEnabled() ? Optional.of(new FitnessCache<>(configuration.getFitnessCacheSize(), configuration.getGenesEquivalence()))
+                : Optional.empty();
+        lastCacheStatistics = new FitnessCacheStatistics(0, 0, 0, 0);
+        evaluations.reset();
+        surrogateEstimates = 0;
+        skippedEvaluations = 0;
+        lastSurrogateEstimates = 0;
+        lastSkippedEvaluations = 0;
+        configuration.getDiversityMeasure().ifPresent(measure -> measuredGenes.forEach((genes, count) -> {
+            for (int i = 0; i < count; i++) {
+                measure.remove(genes);
+            }
+        }));
+        measuredGenes.clear();
+        bestFitnessOfRun = null;
+        epochOfImprovement = 0;
+        isStagnating = false;
+        randomStreams = new RandomStreams(seed);
+        metrics = new MetricsRecorder(configuration.isMetricsEnabled());
+        lastMetrics = metrics.snapshot();
+        metricsBean = configuration.getMetricsMBeanName().map(name -> EvolutionMetricsBean.register(name, metrics));
+        finishRun();
+        if (configuration.isVirtualThreadPerEvaluation()) {
+            virtualThreadExecutor = TaskScheduler.virtualThreadPerTaskExecutor();
+            evaluationScheduler = virtualThreadExecutor.map(executorService -> new TaskScheduler(executorService, configuration.isParallel(), 1))
+                    .orElse(scheduler);
+        }
+        runLog = configuration.getRunLogPolicy().map(policy -> new RunLogWriter<>(policy, configuration.isFitnessIsMaximized(), configuration.getFitnessAsDouble()));
+        logger.info("Seed of the run: " + randomStreams.getSeed());
+    }
+
+    /**
+     * Seed of the last run. Configuring it with the same operators repeats the run
+     */
+    public long getSeed() {
+        return randomStreams.getSeed();
+    }
+
+    /**
+     * Fitness evaluations of the last run since its start, individuals with cached fitness are not counted
+     */
+    long getCountOfEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Metrics of the last run since its start
+     */
+    public EvolutionMetrics getMetrics() {
+        return metrics.snapshot();
+    }
+
+    boolean shouldContinue(EpochHistory<L> epochStatistics) {
+        return (configuration.getTerminationCondition() == null || configuration.getTerminationCondition().shouldTerminate(epochStatistics))
+                && configuration.getIncrementalTerminationCondition().map(condition -> condition.shouldTerminate(epochStatistics.getLatest())).orElse(true)
+                && !runControl.map(RunControl::isStopped).orElse(false);
+    }
+
+    void recordEpoch(EpochHistory<L> epochStatistics, L statistics) {
+        epochStatistics.add(statistics);
+        configuration.getEpochListener().ifPresent(listener -> listener.epochCompleted(statistics));
+        statistics.getMetrics().ifPresent(metricsOfEpoch -> configuration.getMetricsListener()
+                .ifPresent(listener -> listener.metricsOfEpoch(statistics.getEpoch(), metricsOfEpoch, lastMetrics)));
+        metricsBean.ifPresent(bean -> bean.epochCompleted(statistics.getEpoch()));
+        runLog.ifPresent(writer -> writer.offer(statistics));
+    }
+
+    /**
+     * Waits until run log is written and closes it, shuts down virtual threads of the run
+     */
+    void finishRun() {
+        runLog.ifPresent(RunLogWriter::close);
+        runLog = Optional.empty();
+        virtualThreadExecutor.ifPresent(ExecutorService::shutdown);
+        virtualThreadExecutor = Optional.empty();
+        evaluationScheduler = scheduler;
+    }
+
+    List<IndividualWithAssignedFitness<V, T, K>> createInitialPopulation() {
+        List<Individual<V, T>> individuals = generate(scheduler, 0, EvolutionStage.INITIALIZATION, 0, configuration.getPopulationSize(),
+                index -> {
+                    long start = metrics.start();
+                    Individual<V, T> individual = configuration.getPopulationInitialization().initialize();
+                    metrics.record(EvolutionPhase.INITIALIZATION, start);
+                    return individual;
+                });
+        List<IndividualWithAssignedFitness<V, T, K>> population = assignFitnessToIndividuals(0, 0, individuals);
+        learn(population);
 
         //recompute fitness if tweaking is set
+        return asPopulation(recomputeFitnessForPopulation(0, population));
+    }
+
+    Generation createNextGeneration(int epoch, List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
+        //tasks are counted to derive their random streams, evaluations are counted by the evaluations themselves
+        int evaluationTasks = 0, breedingTasks = 0;
+        long evaluationsBefore = evaluations.sum();
+
+        //changed individuals are evaluated and mutated before the rest of generation, so their tasks go first
+        if (isStagnating) {
+            isStagnating = false;
+            StagnationPolicy policy = configuration.getStagnationPolicy().get();
+            evaluationTasks = countToChange(policy, currentPopulation.size());
+            breedingTasks = evaluationTasks;
+            currentPopulation = respondToStagnation(epoch, currentPopulation, policy);
+        }
+
+        //seed of new generation, replacement and preparation of selector draw from their own random streams
+        List<IndividualWithAssignedFitness<V, T, K>> pool = Collections.unmodifiableList(currentPopulation);
+        long startOfReplacement = metrics.start();
+        List<IndividualWithAssignedFitness<V, T, K>> newIndividuals = withRandom(epoch, EvolutionStage.REPLACEMENT, 0,
+                () -> configuration.getReplacement().getIndividualsToIncludeInNextGeneration(pool));
         if (configuration.getFitnessTweakingStrategy().isPresent()) {
-            populationWithAssignedFitness = recomputeFitnessForPopulation((configuration.isParallel() ? populationWithAssignedFitness.parallel() : populationWithAssignedFitness).collect(Collectors.toList()));
-        }
-
-        List<IndividualWithAssignedFitness<V, T, K>> currentPopulation = (configuration.isParallel() ? populationWithAssignedFitness.parallel() : populationWithAssignedFitness).collect(Collectors.toList());
-        epochStatistics.add(createNewStatistics(0, start, currentPopulation.size(), currentPopulation));
-        logger.info(epochStatistics.get(epochStatistics.size() - 1).getSummary());
-        //end init first population
-
-        //execute epochs, terminate when user's condition is met
-        int epoch = 1;
-        while (configuration.getTerminationCondition().shouldTerminate(epochStatistics)) {
-            start = System.currentTimeMillis();
-            int fitnessEvaluations = 0;
-
-            //seed of new generation
-            List<IndividualWithAssignedFitness<V, T, K>> newIndividuals = configuration.getReplacement()
-                    .getIndividualsToIncludeInNextGeneration(Collections.unmodifiableList(currentPopulation));
-            if (configuration.getFitnessTweakingStrategy().isPresent()) {
-                newIndividuals = newIndividuals.stream().map(ind -> ((IndividualWithTweakedFitness<V, T, K>) ind).getOriginalIndividual())
-                        .collect(Collectors.toList());
-            }
-
-            //init rest of the population in new generation
-            while (newIndividuals.size() < configuration.getPopulationSize()) {
-                int pairs = ((configuration.getPopulationSize() - newIndividuals.size()) % 2 == 0 ? 0 : 1) + ((configuration.getPopulationSize() - newIndividuals.size()) / 2);
-
-                //chain operations as much as possible - to run them in parallel if configured
-                List<IndividualWithAssignedFitness<V, T, K>> pool = Collections.unmodifiableList(currentPopulation);
-                Stream<List<IndividualWithAssignedFitness<V, T, K>>> streamOfParentsPairs = IntStream.range(0, pairs).boxed()
-                        .map(integer -> {
-                            IndividualWithAssignedFitness<V, T, K> firstParent = configuration.getSelector().select(pool), secondParent = null;
-                            while (secondParent == null || firstParent.equals(secondParent)) {
-                                secondParent = configuration.getSelector().select(pool);
-                            }
-                            return Stream.of(firstParent, secondParent).collect(Collectors.toList());
-                        });
-                Stream<IndividualWithFitnessAssessmentStatus> newBatchOfIndividualsStream = streamOfParentsPairs.flatMap(parents -> {
-                    if (configuration.getCrossover().isPresent() && RANDOM.nextDouble() <= configuration.getProbabilityOfCrossover()) {
-                        Stream<Individual<V, T>> offspring = configuration.getCrossover().get().crossover(parents.get(0).getIndividual(), parents.get(1).getIndividual()).stream();
-                        if (configuration.getMutation().isPresent()) {
-                            offspring = offspring
-                                    .map(individual -> configuration.getMutation().get().mutation(individual))
-                                    .filter(Optional::isPresent)
-                                    .map(Optional::get);
-                        }
-                        return assignFitnessToIndividuals(offspring).map(ind -> new IndividualWithFitnessAssessmentStatus(ind, true));
-                    } else {
-                        if (configuration.getMutation().isPresent()) {
-                            return parents.stream()
-                                    .map(individual -> {
-                                        Optional<Individual<V, T>> mutated = configuration.getMutation().get().mutation(individual.getIndividual());
-                                        if (mutated.isPresent() && !mutated.get().equals(individual.getIndividual())) {
-                                            return new IndividualWithFitnessAssessmentStatus(new IndividualWithAssignedFitness<>(mutated.get(),
-                                                    configuration.getFitnessAssessment().computeFitnessForIndividual(mutated.get().decode(configuration.getDecoding()))), true);
-                                        }
-                                        return new IndividualWithFitnessAssessmentStatus(individual, false);
-                                    });
-                        } else {
-                            return parents.stream().map(ind -> new IndividualWithFitnessAssessmentStatus(ind, false));
-                        }
+            newIndividuals = newIndividuals.stream().map(EvolutionExecutor::withOriginalFitness)
+                    .collect(Collectors.toList());
+        }
+        metrics.record(EvolutionPhase.REPLACEMENT, startOfReplacement);
+
+        //init rest of the population in new generation, more offspring is bred when kept individuals and offspring would not fill population
+        int targetSize = configuration.getOffspringPerGeneration() > 0
+                ? Math.max(configuration.getPopulationSize(), newIndividuals.size() + configuration.getOffspringPerGeneration()) : configuration.getPopulationSize();
+        long startOfPreparation = metrics.start();
+        SelectorStrategy<V, T, K> selector = withRandom(epoch, EvolutionStage.REPLACEMENT, 1, () -> configuration.getSelector().prepare(pool));
+        metrics.record(EvolutionPhase.SELECTION, startOfPreparation);
+        while (newIndividuals.size() < targetSize) {
+            if (breedingTasks > 0) {
+                metrics.extraBreedingIteration();
+            }
+            //with surrogate model, more offspring is bred and only the most promising part of it is evaluated
+            int missing = targetSize - newIndividuals.size();
+            boolean isScreened = surrogatePolicy.isPresent() && surrogatePolicy.get().getModel().isReady();
+            int countToBreed = isScreened ? (int) Math.ceil(missing / surrogatePolicy.get().getFractionToEvaluate()) : missing;
+            int pairs = (countToBreed % 2 == 0 ? 0 : 1) + (countToBreed / 2);
+
+            //breed offspring first, then evaluate all of them at once
+            List<List<Offspring>> offspringOfPairs = generate(scheduler, epoch, EvolutionStage.BREEDING, breedingTasks, pairs, index -> breed(pool, selector));
+            List<Offspring> offspring = new ArrayList<>();
+            offspringOfPairs.forEach(offspring::addAll);
+            if (isScreened) {
+                offspring = screen(epoch, breedingTasks, offspring, missing, surrogatePolicy.get());
+            }
+            breedingTasks = breedingTasks + pairs;
+            List<Individual<V, T>> individualsToEvaluate = offspring.stream()
+                    .filter(child -> !child.getAssessedIndividual().isPresent() && !child.isDeltaEvaluated())
+                    .map(Offspring::getIndividual)
+                    .collect(Collectors.toList());
+            List<Offspring> mutantsToEvaluate = offspring.stream()
+                    .filter(Offspring::isDeltaEvaluated)
+                    .collect(Collectors.toList());
+            List<IndividualWithAssignedFitness<V, T, K>> evaluatedIndividuals = assignFitnessToIndividuals(epoch, evaluationTasks, individualsToEvaluate);
+            evaluationTasks = evaluationTasks + individualsToEvaluate.size();
+            List<IndividualWithAssignedFitness<V, T, K>> evaluatedMutants = generate(evaluationScheduler, epoch, EvolutionStage.EVALUATION, evaluationTasks, mutantsToEvaluate.size(),
+                    index -> evaluateChange(mutantsToEvaluate.get(index), deltaFitnessAssessment.get()));
+            evaluationTasks = evaluationTasks + mutantsToEvaluate.size();
+            learn(evaluatedIndividuals);
+            learn(evaluatedMutants);
+            Iterator<IndividualWithAssignedFitness<V, T, K>> nextEvaluatedIndividual = evaluatedIndividuals.iterator(), nextEvaluatedMutant = evaluatedMutants.iterator();
+            for (Offspring child : offspring) {
+                newIndividuals.add(child.getAssessedIndividual().orElseGet(child.isDeltaEvaluated() ? nextEvaluatedMutant::next : nextEvaluatedIndividual::next));
+            }
+        }
+
+        //recompute fitness if tweaking is set
+        newIndividuals = asPopulation(recomputeFitnessForPopulation(epoch, newIndividuals));
+
+        //make new generation
+        //trim population if needed based on fitness, survivors are sorted from the best one
+        if (newIndividuals.size() > configuration.getPopulationSize()) {
+            long startOfTrimming = metrics.start();
+            List<IndividualWithAssignedFitness<V, T, K>> survivors = newIndividuals instanceof DoublePopulation
+                    ? asPopulation(asDoublePopulation(newIndividuals).best(configuration.getPopulationSize(), configuration.isFitnessIsMaximized()))
+                    : TopK.of(newIndividuals, configuration.getPopulationSize(), fromWorstToBest()).getItems();
+            metrics.record(EvolutionPhase.REPLACEMENT, startOfTrimming);
+            return new Generation(survivors, (int) (evaluations.sum() - evaluationsBefore), Optional.of(survivors.get(0)));
+        }
+        return new Generation(newIndividuals, (int) (evaluations.sum() - evaluationsBefore), Optional.empty());
+    }
+
+    /**
+     * Selects pair of parents and creates their offspring. Offspring which has to be evaluated has no assessed individual
+     */
+    List<Offspring> breed(List<IndividualWithAssignedFitness<V, T, K>> pool) {
+        return breed(pool, configuration.getSelector());
+    }
+
+    private List<Offspring> breed(List<IndividualWithAssignedFitness<V, T, K>> pool, SelectorStrategy<V, T, K> selector) {
+        IndividualWithAssignedFitness<V, T, K> firstParent = select(pool, selector), secondParent = select(pool, selector);
+        for (int i = 1; i < SELECTIONS_OF_DISTINCT_PARENT && firstParent.equals(secondParent); i++) {
+            secondParent = select(pool, selector);
+        }
+        List<Offspring> offspring = new ArrayList<>(2);
+        if (configuration.getCrossover().isPresent() && EvolutionContext.random().nextDouble() <= configuration.getProbabilityOfCrossover()) {
+            long start = metrics.start();
+            List<Individual<V, T>> children = configuration.getCrossover().get().crossover(firstParent.getIndividual(), secondParent.getIndividual());
+            metrics.record(EvolutionPhase.CROSSOVER, start);
+            for (Individual<V, T> child : children) {
+                if (configuration.getMutation().isPresent()) {
+                    mutate(child).ifPresent(mutated -> offspring.add(new Offspring(mutated, Optional.empty(), Optional.empty())));
+                } else {
+                    offspring.add(new Offspring(child, Optional.empty(), Optional.empty()));
+                }
+            }
+        } else {
+            for (IndividualWithAssignedFitness<V, T, K> parent : Arrays.asList(firstParent, secondParent)) {
+                if (configuration.getMutation().isPresent()) {
+                    Optional<Individual<V, T>> mutated = mutate(parent.getIndividual());
+                    if (mutated.isPresent() && !configuration.getGenesEquivalence().equivalent(mutated.get().getGenes(), parent.getGenes())) {
+                        offspring.add(new Offspring(mutated.get(), Optional.empty(), Optional.of(parent)));
+                        continue;
                     }
-                });
-                List<IndividualWithFitnessAssessmentStatus> newBatchOfIndividuals = (configuration.isParallel() ? newBatchOfIndividualsStream.parallel() : newBatchOfIndividualsStream).collect(Collectors.toList());
-                fitnessEvaluations = fitnessEvaluations + (int) newBatchOfIndividuals.stream().filter(IndividualWithFitnessAssessmentStatus::isFitnessRecomputed).count();
-                newIndividuals.addAll(newBatchOfIndividuals.stream().map(IndividualWithFitnessAssessmentStatus::getIndividual).collect(Collectors.toList()));
+                }
+                offspring.add(new Offspring(parent.getIndividual(), Optional.of(parent), Optional.empty()));
+            }
+        }
+        return offspring;
+    }
+
+    /**
+     * Keeps offspring which does not have to be evaluated in the same proportion as it would be without screening.
+     * The rest of missing individuals is taken from offspring to evaluate - the best ones by estimate of surrogate model
+     * and randomly picked ones for exploration. Order of kept offspring is preserved
+     */
+    private List<Offspring> screen(int epoch, long taskIndex, List<Offspring> offspring, int missing, SurrogatePolicy<V> policy) {
+        long start = metrics.start();
+        List<Integer> toEstimate = new ArrayList<>();
+        for (int i = 0; i < offspring.size(); i++) {
+            if (!offspring.get(i).getAssessedIndividual().isPresent() && !offspring.get(i).isDeltaEvaluated()) {
+                toEstimate.add(i);
             }
+        }
+        int countOfAssessed = offspring.size() - toEstimate.size();
+        int assessedToKeep = Math.min(missing, (int) Math.ceil(countOfAssessed * policy.getFractionToEvaluate()));
+        int toEvaluate = Math.min(toEstimate.size(), Math.max(0, missing - assessedToKeep));
+        int toExplore = (int) Math.round(toEvaluate * policy.getExplorationShare());
 
-            //recompute fitness if tweaking is set
-            if (configuration.getFitnessTweakingStrategy().isPresent()) {
-                newIndividuals = recomputeFitnessForPopulation(newIndividuals).collect(Collectors.toList());
+        List<Double> estimates = generate(scheduler, epoch, EvolutionStage.SCREENING, taskIndex, toEstimate.size(),
+                index -> policy.getModel().estimate(offspring.get(toEstimate.get(index)).getIndividual().getGenes()));
+        //candidates from the most promising one, unknown estimates are the last
+        Comparator<Integer> byEstimate = Comparator.comparingDouble(estimates::get);
+        List<Integer> candidates = new ArrayList<>(toEstimate.size());
+        for (int i = 0; i < toEstimate.size(); i++) {
+            candidates.add(i);
+        }
+        candidates.sort(Comparator.comparing((Integer candidate) -> Double.isNaN(estimates.get(candidate)))
+                .thenComparing(configuration.isFitnessIsMaximized() ? byEstimate.reversed() : byEstimate));
+        boolean[] isKept = new boolean[toEstimate.size()];
+        for (int i = 0; i < toEvaluate - toExplore; i++) {
+            isKept[candidates.get(i)] = true;
+        }
+        //the rest is picked at random from remaining candidates by partial shuffle
+        withRandom(epoch, EvolutionStage.SCREENING, taskIndex, () -> {
+            for (int i = toEvaluate - toExplore; i < toEvaluate; i++) {
+                Collections.swap(candidates, i, i + EvolutionContext.random().nextInt(candidates.size() - i));
+                isKept[candidates.get(i)] = true;
             }
+            return null;
+        });
 
-            //make new generation and statistics
-            //trim population if needed based on fitness
-            if (newIndividuals.size() > configuration.getPopulationSize()) {
-                Collections.sort(newIndividuals);
-                if (configuration.isFitnessIsMaximized()) {
-                    Collections.reverse(newIndividuals);
+        List<Offspring> keptOffspring = new ArrayList<>(assessedToKeep + toEvaluate);
+        int keptAssessed = 0;
+        for (int i = 0, candidate = 0; i < offspring.size(); i++) {
+            if (candidate < toEstimate.size() && toEstimate.get(candidate) == i) {
+                if (isKept[candidate++]) {
+                    keptOffspring.add(offspring.get(i));
                 }
-                currentPopulation = newIndividuals.subList(0, configuration.getPopulationSize());
-            } else {
-                currentPopulation = newIndividuals;
+            } else if (keptAssessed < assessedToKeep) {
+                keptOffspring.add(offspring.get(i));
+                keptAssessed++;
+            }
+        }
+        surrogateEstimates = surrogateEstimates + toEstimate.size();
+        skippedEvaluations = skippedEvaluations + toEstimate.size() - toEvaluate;
+        metrics.record(EvolutionPhase.SCREENING, start);
+        return keptOffspring;
+    }
+
+    private int countToChange(StagnationPolicy policy, int populationSize) {
+        return (int) Math.round(Math.max(0, populationSize - policy.getCountOfElites()) * policy.getShare());
+    }
+
+    /**
+     * The worst individuals of population are replaced by new ones or mutated repeatedly, the rest is kept
+     */
+    private List<IndividualWithAssignedFitness<V, T, K>> respondToStagnation(int epoch, List<IndividualWithAssignedFitness<V, T, K>> population, StagnationPolicy policy) {
+        int countToChange = countToChange(policy, population.size());
+        List<IndividualWithAssignedFitness<V, T, K>> fromBestToWorst = new ArrayList<>(population);
+        fromBestToWorst.sort(fromWorstToBest().reversed());
+        List<IndividualWithAssignedFitness<V, T, K>> toChange = fromBestToWorst.subList(population.size() - countToChange, population.size());
+        List<Individual<V, T>> changedIndividuals;
+        if (policy.isHypermutation()) {
+            changedIndividuals = generate(scheduler, epoch, EvolutionStage.BREEDING, 0, countToChange, index -> {
+                Individual<V, T> individual = toChange.get(index).getIndividual();
+                for (int i = 0; i < policy.getMutationsPerIndividual(); i++) {
+                    individual = mutate(individual).orElse(individual);
+                }
+                return individual;
+            });
+        } else {
+            changedIndividuals = generate(scheduler, epoch, EvolutionStage.INITIALIZATION, 0, countToChange, index -> {
+                long start = metrics.start();
+                Individual<V, T> individual = configuration.getPopulationInitialization().initialize();
+                metrics.record(EvolutionPhase.INITIALIZATION, start);
+                return individual;
+            });
+        }
+        List<IndividualWithAssignedFitness<V, T, K>> evaluatedIndividuals = assignFitnessToIndividuals(epoch, 0, changedIndividuals);
+        learn(evaluatedIndividuals);
+
+        List<IndividualWithAssignedFitness<V, T, K>> newPopulation = new ArrayList<>(population.size());
+        fromBestToWorst.subList(0, population.size() - countToChange).forEach(individual -> newPopulation.add(withOriginalFitness(individual)));
+        newPopulation.addAll(evaluatedIndividuals);
+        logger.info(() -> "Population stagnates in epoch " + epoch + ", " + countToChange + " individuals were " + (policy.isHypermutation() ? "mutated" : "replaced"));
+        return asPopulation(recomputeFitnessForPopulation(epoch, newPopulation));
+    }
+
+    /**
+     * Updates diversity measure by individuals which entered and left population since the last call, it is called
+     * before statistics of population are created
+     */
+    void measureDiversity(List<IndividualWithAssignedFitness<V, T, K>> population) {
+        if (!configuration.getDiversityMeasure().isPresent()) {
+            return;
+        }
+        DiversityMeasure<V> measure = configuration.getDiversityMeasure().get();
+        Map<V, Integer> genesOfPopulation = new IdentityHashMap<>();
+        for (IndividualWithAssignedFitness<V, T, K> individual : population) {
+            genesOfPopulation.merge(individual.getGenes(), 1, Integer::sum);
+        }
+        measuredGenes.forEach((genes, count) -> {
+            for (int i = genesOfPopulation.getOrDefault(genes, 0); i < count; i++) {
+                measure.remove(genes);
             }
-            epochStatistics.add(createNewStatistics(epoch, start, currentPopulation.size(), currentPopulation));
-            logger.info(epochStatistics.get(epochStatistics.size() - 1).getSummary());
+        });
+        genesOfPopulation.forEach((genes, count) -> {
+            for (int i = measuredGenes.getOrDefault(genes, 0); i < count; i++) {
+                measure.add(genes);
+            }
+        });
+        measuredGenes.clear();
+        measuredGenes.putAll(genesOfPopulation);
+    }
+
+    /**
+     * Population stagnates when the best fitness of run did not improve for given number of epochs or when its diversity
+     * is too low. Stagnation found in statistics of epoch is responded to in the next generation
+     */
+    void detectStagnation(L statistics) {
+        configuration.getStagnationPolicy().ifPresent(policy -> detectStagnation(policy, statistics.getEpoch(), statistics.getBestIndividual(), statistics.getDiversity()));
+    }
+
+    private void detectStagnation(StagnationPolicy policy, int epoch, IndividualWithAssignedFitness<V, T, K> bestIndividual, Optional<Double> diversity) {
+        K fitness = withOriginalFitness(bestIndividual).getFitness();
+        if (bestFitnessOfRun == null || (configuration.isFitnessIsMaximized() ? fitness.compareTo(bestFitnessOfRun) > 0 : fitness.compareTo(bestFitnessOfRun) < 0)) {
+            bestFitnessOfRun = fitness;
+            epochOfImprovement = epoch;
+        }
+        isStagnating = (policy.getEpochsWithoutImprovement() > 0 && epoch - epochOfImprovement >= policy.getEpochsWithoutImprovement())
+                || (diversity.isPresent() && diversity.get() < policy.getMinimalDiversity());
+        if (isStagnating) {
+            //the next response waits for the same number of epochs
+            epochOfImprovement = epoch;
+        }
+    }
+
+    /**
+     * Adds evaluated individuals to archive of surrogate model. Workers of steady-state evolution learn at the same
+     * time, so the archive is locked
+     */
+    private void learn(List<IndividualWithAssignedFitness<V, T, K>> evaluatedIndividuals) {
+        if (surrogatePolicy.isPresent()) {
+            ToDoubleFunction<K> fitnessAsDouble = configuration.getFitnessAsDouble().orElse(fitness -> (Double) fitness);
+            SurrogateModel<V> model = surrogatePolicy.get().getModel();
+            synchronized (model) {
+                for (IndividualWithAssignedFitness<V, T, K> individual : evaluatedIndividuals) {
+                    model.add(individual.getGenes(), fitnessAsDouble.applyAsDouble(individual.getFitness()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Fitness of mutant computed from its parent. State of parent which was evaluated in full is created on demand
+     */
+    private <S> IndividualWithAssignedFitness<V, T, K> evaluateChange(Offspring mutant, DeltaFitnessAssessmentStrategy<V, K, S> deltaFitnessAssessment) {
+        long start = metrics.start();
+        IndividualWithAssignedFitness<V, T, K> parent = withOriginalFitness(mutant.getMutatedParent().get());
+        @SuppressWarnings("unchecked")
+        S stateOfParent = parent instanceof IndividualWithEvaluationState ? (S) ((IndividualWithEvaluationState<V, T, K>) parent).getState()
+                : deltaFitnessAssessment.stateOf(parent.getGenes(), parent.getFitness());
+        evaluations.increment();
+        DeltaEvaluation<K, S> evaluation = evaluation(1, () -> deltaFitnessAssessment.evaluateChange(parent.getGenes(), parent.getFitness(), stateOfParent,
+                mutant.getIndividual().getGenes(), ((MutatedIndividual<V, T>) mutant.getIndividual()).getChangedGenes()));
+        metrics.record(EvolutionPhase.DELTA_EVALUATION, start);
+        return observed(evaluation.getState() == null ? withFitness(mutant.getIndividual(), evaluation.getFitness())
+                : new IndividualWithEvaluationState<>(mutant.getIndividual(), evaluation.getFitness(), evaluation.getState()));
+    }
+
+    private IndividualWithAssignedFitness<V, T, K> select(List<IndividualWithAssignedFitness<V, T, K>> pool, SelectorStrategy<V, T, K> selector) {
+        long start = metrics.start();
+        IndividualWithAssignedFitness<V, T, K> selected = selector.select(pool);
+        metrics.record(EvolutionPhase.SELECTION, start);
+        return selected;
+    }
 
-            epoch++;
+    private Optional<Individual<V, T>> mutate(Individual<V, T> individual) {
+        long start = metrics.start();
+        Optional<Individual<V, T>> mutated = configuration.getMutation().get().mutation(individual);
+        metrics.record(EvolutionPhase.MUTATION, start);
+        if (!mutated.isPresent()) {
+            metrics.rejectedMutation();
         }
+        return mutated;
+    }
+
+    /**
+     * Individuals may come with fitness tweaked in context of previous population. Returns them with fitness
+     * assigned by fitness assessment
+     */
+    static <V, T, K extends Comparable<K>> IndividualWithAssignedFitness<V, T, K> withOriginalFitness(IndividualWithAssignedFitness<V, T, K> individual) {
+        if (individual instanceof IndividualWithTweakedFitness) {
+            return ((IndividualWithTweakedFitness<V, T, K>) individual).getOriginalIndividual();
+        }
+        return individual;
+    }
+
+    /**
+     * With double fitness assessment, individual keeps fitness as primitive value
+     */
+    private IndividualWithAssignedFitness<V, T, K> withFitness(Individual<V, T> individual, K fitness) {
+        return doubleFitnessAssessment.isPresent() ? withDoubleFitness(individual, (Double) fitness) : new IndividualWithAssignedFitness<>(individual, fitness);
+    }
 
-        return epochStatistics;
+    @SuppressWarnings("unchecked")
+    private IndividualWithAssignedFitness<V, T, K> withDoubleFitness(Individual<V, T> individual, double fitness) {
+        return (IndividualWithAssignedFitness<V, T, K>) (IndividualWithAssignedFitness<V, T, ?>) new IndividualWithDoubleFitness<>(individual, fitness);
+    }
+
+    /**
+     * Double fitness assessment computes fitness of type Double, so K is Double
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> DoubleFitnessAssessmentStrategy<T> asDoubleFitnessAssessment(FitnessAssessmentStrategy<T, ?> fitnessAssessment) {
+        return (DoubleFitnessAssessmentStrategy<T>) fitnessAssessment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DoublePopulation<V, T> asDoublePopulation(List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return (DoublePopulation<V, T>) (List<?>) population;
+    }
+
+    /**
+     * With double fitness assessment, fitness of population is kept also in primitive array
+     */
+    @SuppressWarnings("unchecked")
+    private List<IndividualWithAssignedFitness<V, T, K>> asPopulation(List<? extends IndividualWithAssignedFitness<V, T, ?>> individuals) {
+        if (doubleFitnessAssessment.isPresent()) {
+            return (List<IndividualWithAssignedFitness<V, T, K>>) (List<?>) DoublePopulation.of((List<IndividualWithAssignedFitness<V, T, Double>>) individuals);
+        }
+        return (List<IndividualWithAssignedFitness<V, T, K>>) individuals;
     }
 
     @AllArgsConstructor
     @Getter
-    private class IndividualWithFitnessAssessmentStatus {
-        private final IndividualWithAssignedFitness<V, T, K> individual;
-        private final boolean isFitnessRecomputed;
+    class Generation {
+        private final List<IndividualWithAssignedFitness<V, T, K>> population;
+        private final int fitnessEvaluations;
+        //known when population was trimmed
+        private final Optional<IndividualWithAssignedFitness<V, T, K>> bestIndividual;
+    }
+
+    private Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest() {
+        return configuration.isFitnessIsMaximized() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+    }
+
+    @AllArgsConstructor
+    @Getter
+    class Offspring {
+        private final Individual<V, T> individual;
+        private final Optional<IndividualWithAssignedFitness<V, T, K>> assessedIndividual;
+        //present when offspring was created only by mutation of the parent
+        private final Optional<IndividualWithAssignedFitness<V, T, K>> mutatedParent;
+
+        private boolean isDeltaEvaluated() {
+            return deltaFitnessAssessment.isPresent() && mutatedParent.isPresent() && individual instanceof MutatedIndividual;
+        }
+    }
+
+    L createNewStatistics(int epoch, long startTime, int countOfFitnessEvaluation, List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
+        return createNewStatistics(epoch, startTime, countOfFitnessEvaluation, currentPopulation, Optional.empty());
+    }
+
+    L createNewStatistics(int epoch, long startTime, int countOfFitnessEvaluation, Generation generation) {
+        return createNewStatistics(epoch, startTime, countOfFitnessEvaluation, generation.getPopulation(), generation.getBestIndividual());
+    }
+
+    private L createNewStatistics(int epoch, long startTime, int countOfFitnessEvaluation, List<IndividualWithAssignedFitness<V, T, K>> currentPopulation,
+                                  Optional<IndividualWithAssignedFitness<V, T, K>> knownBestIndividual) {
+        //find the best individual and aggregate fitness in single pass, it is skipped when there is nothing to find
+        long startOfStatistics = metrics.start();
+        IndividualWithAssignedFitness<V, T, K> bestIndividual = knownBestIndividual.orElse(null);
+        int count = 0;
+        double mean = 0, sumOfSquaredDifferences = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        ToDoubleFunction<K> fitnessAsDouble = configuration.getFitnessAsDouble().orElse(null);
+        Optional<FitnessAggregates> fitnessAggregates = Optional.empty();
+        if (currentPopulation instanceof DoublePopulation && fitnessAsDouble == null) {
+            //primitive fitness is aggregated directly and the best individual is found without comparing objects
+            DoublePopulation<?, ?> doublePopulation = (DoublePopulation<?, ?>) (List<?>) currentPopulation;
+            if (bestIndividual == null && !currentPopulation.isEmpty()) {
+                bestIndividual = currentPopulation.get(doublePopulation.indexOfBest(configuration.isFitnessIsMaximized()));
+            }
+            fitnessAggregates = Optional.of(doublePopulation.getAggregates());
+        }
+        Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest = fromWorstToBest();
+        boolean isBestKnown = bestIndividual != null;
+        for (int i = 0; i < currentPopulation.size() && (fitnessAsDouble != null || !isBestKnown); i++) {
+            IndividualWithAssignedFitness<V, T, K> individual = currentPopulation.get(i);
+            if (bestIndividual == null || fromWorstToBest.compare(individual, bestIndividual) > 0) {
+                bestIndividual = individual;
+            }
+            if (fitnessAsDouble != null) {
+                double fitness = fitnessAsDouble.applyAsDouble(individual.getFitness());
+                count++;
+                double difference = fitness - mean;
+                mean = mean + difference / count;
+                sumOfSquaredDifferences = sumOfSquaredDifferences + difference * (fitness - mean);
+                min = Math.min(min, fitness);
+                max = Math.max(max, fitness);
+            }
+        }
+        L statistics = configuration.getStatisticsCreation().returnStatistics(epoch, System.currentTimeMillis() - startTime,
+                countOfFitnessEvaluation, bestIndividual, configuration.isPopulationInStatistics() ? Collections.unmodifiableList(currentPopulation) : Collections.emptyList());
+        if (fitnessAsDouble != null) {
+            fitnessAggregates = Optional.of(new FitnessAggregates(count, mean, count > 0 ? sumOfSquaredDifferences / count : 0, min, max));
+        }
+        statistics.setFitnessAggregates(fitnessAggregates);
+        fitnessCache.ifPresent(cache -> {
+            FitnessCacheStatistics cacheStatistics = cache.snapshot();
+            statistics.setFitnessCacheStatistics(Optional.of(cacheStatistics.since(lastCacheStatistics)));
+            lastCacheStatistics = cacheStatistics;
+        });
+        configuration.getDiversityMeasure().ifPresent(measure -> statistics.setDiversity(Optional.of(withRandom(epoch, EvolutionStage.STATISTICS, 0, measure::diversity))));
+        surrogatePolicy.ifPresent(policy -> {
+            statistics.setSurrogateStatistics(Optional.of(new SurrogateStatistics(surrogateEstimates - lastSurrogateEstimates,
+                    skippedEvaluations - lastSkippedEvaluations, policy.getModel().size())));
+            lastSurrogateEstimates = surrogateEstimates;
+            lastSkippedEvaluations = skippedEvaluations;
+        });
+        adaptiveScheduler.ifPresent(adaptive -> statistics.setScheduling(Optional.of(adaptive.getDecisions())));
+        metrics.record(EvolutionPhase.STATISTICS, startOfStatistics);
+        if (metrics.isEnabled()) {
+            EvolutionMetrics metricsOfRun = metrics.snapshot();
+            statistics.setMetrics(Optional.of(metricsOfRun.since(lastMetrics)));
+            lastMetrics = metricsOfRun;
+        }
+        return statistics;
+    }
+
+    /**
+     * Runs tasks on scheduler, each task with its own random stream
+     */
+    <R> R withRandom(int epoch, EvolutionStage stage, long taskIndex, Supplier<R> task) {
+        return EvolutionContext.withRandom(randomStreams.stream(epoch, stage, taskIndex), task);
+    }
+
+    private <R> List<R> generate(TaskScheduler taskScheduler, int epoch, EvolutionStage stage, long firstTaskIndex, int count, IntFunction<R> task) {
+        IntFunction<R> taskWithRandom = index -> EvolutionContext.withRandom(randomStreams.stream(epoch, stage, firstTaskIndex + index), () -> task.apply(index));
+        //evaluation on virtual threads is not adapted
+        if (adaptiveScheduler.isPresent() && taskScheduler == scheduler) {
+            return adaptiveScheduler.get().generate(stage, count, taskWithRandom);
+        }
+        return taskScheduler.generate(count, taskWithRandom);
+    }
+
+    private List<IndividualWithAssignedFitness<V, T, K>> assignFitnessToIndividuals(int epoch, long firstTaskIndex, List<Individual<V, T>> individuals) {
+        if (configuration.getBatchFitnessAssessment().isPresent()) {
+            return assignFitnessToIndividualsInBatches(epoch, firstTaskIndex, individuals, configuration.getBatchFitnessAssessment().get());
+        }
+        return generate(evaluationScheduler, epoch, EvolutionStage.EVALUATION, firstTaskIndex, individuals.size(), index -> assignFitness(individuals.get(index)));
+    }
+
+    private IndividualWithAssignedFitness<V, T, K> assignFitness(Individual<V, T> individual) {
+        if (doubleFitnessAssessment.isPresent() && !fitnessCache.isPresent()) {
+            return observed(withDoubleFitness(individual, computeDoubleFitness(individual, doubleFitnessAssessment.get())));
+        }
+        return observed(withFitness(individual, computeFitness(individual)));
+    }
+
+    /**
+     * Evaluates individuals outside of generation the same way as offspring of generation, surrogate model learns from
+     * them
+     */
+    List<IndividualWithAssignedFitness<V, T, K>> evaluate(int epoch, long firstTaskIndex, List<Individual<V, T>> individuals) {
+        List<IndividualWithAssignedFitness<V, T, K>> evaluatedIndividuals = assignFitnessToIndividuals(epoch, firstTaskIndex, individuals);
+        learn(evaluatedIndividuals);
+        return evaluatedIndividuals;
+    }
+
+    /**
+     * Individuals with fitness in cache are not evaluated, the rest is decoded and evaluated in batches. Each batch is
+     * single task
+     */
+    private List<IndividualWithAssignedFitness<V, T, K>> assignFitnessToIndividualsInBatches(int epoch, long firstTaskIndex, List<Individual<V, T>> individuals,
+                                                                                             BatchFitnessAssessmentStrategy<T, K> batchFitnessAssessment) {
+        List<K> fitness = new ArrayList<>(individuals.size());
+        List<Integer> toEvaluate = new ArrayList<>();
+        for (int i = 0; i < individuals.size(); i++) {
+            K cachedFitness = fitnessCache.isPresent() ? fitnessCache.get().getIfPresent(individuals.get(i).getGenes()) : null;
+            fitness.add(cachedFitness);
+            if (cachedFitness == null) {
+                toEvaluate.add(i);
+            }
+        }
+
+        int batchSize = configuration.getBatchSize(), countOfBatches = (toEvaluate.size() + batchSize - 1) / batchSize;
+        List<List<K>> fitnessOfBatches = generate(evaluationScheduler, epoch, EvolutionStage.EVALUATION, firstTaskIndex, countOfBatches, batch -> {
+            List<Integer> indexes = toEvaluate.subList(batch * batchSize, Math.min(toEvaluate.size(), (batch + 1) * batchSize));
+            List<T> solutions = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                long start = metrics.start();
+                solutions.add(individuals.get(index).decode(configuration.getDecoding()));
+                metrics.record(EvolutionPhase.DECODING, start);
+            }
+            long start = metrics.start();
+            evaluations.add(solutions.size());
+            List<K> fitnessOfBatch = evaluation(solutions.size(), () -> batchFitnessAssessment.computeFitnessForIndividuals(solutions));
+            metrics.record(EvolutionPhase.BATCH_FITNESS_EVALUATION, start);
+            if (fitnessOfBatch.size() != solutions.size()) {
+                throw new IllegalStateException("Batch fitness assessment returned " + fitnessOfBatch.size() + " values for " + solutions.size() + " solutions");
+            }
+            return fitnessOfBatch;
+        });
+
+        for (int batch = 0; batch < countOfBatches; batch++) {
+            List<K> fitnessOfBatch = fitnessOfBatches.get(batch);
+            for (int i = 0; i < fitnessOfBatch.size(); i++) {
+                int index = toEvaluate.get(batch * batchSize + i);
+                fitness.set(index, fitnessOfBatch.get(i));
+                if (fitnessCache.isPresent()) {
+                    fitnessCache.get().put(individuals.get(index).getGenes(), fitnessOfBatch.get(i));
+                }
+            }
+        }
+        List<IndividualWithAssignedFitness<V, T, K>> assessedIndividuals = new ArrayList<>(individuals.size());
+        for (int i = 0; i < individuals.size(); i++) {
+            assessedIndividuals.add(observed(withFitness(individuals.get(i), fitness.get(i))));
+        }
+        return assessedIndividuals;
+    }
+
+    private K computeFitness(Individual<V, T> individual) {
+        if (fitnessCache.isPresent()) {
+            return fitnessCache.get().computeIfAbsent(individual.getGenes(), this::decodeAndAssessFitness);
+        }
+        return decodeAndAssessFitness(individual.getGenes());
+    }
+
+    private double computeDoubleFitness(Individual<V, T> individual, DoubleFitnessAssessmentStrategy<T> doubleFitnessAssessment) {
+        long start = metrics.start();
+        T solution = individual.decode(configuration.getDecoding());
+        metrics.record(EvolutionPhase.DECODING, start);
+        start = metrics.start();
+        evaluations.increment();
+        double fitness = runControl.isPresent() ? evaluation(1, () -> doubleFitnessAssessment.computeDoubleFitness(solution))
+                : doubleFitnessAssessment.computeDoubleFitness(solution);
+        metrics.record(EvolutionPhase.FITNESS_EVALUATION, start);
+        return fitness;
+    }
+
+    private K decodeAndAssessFitness(V genes) {
+        long start = metrics.start();
+        T solution = configuration.getDecoding().decode(genes);
+        metrics.record(EvolutionPhase.DECODING, start);
+        start = metrics.start();
+        evaluations.increment();
+        K fitness = evaluation(1, () -> configuration.getFitnessAssessment().computeFitnessForIndividual(solution));
+        metrics.record(EvolutionPhase.FITNESS_EVALUATION, start);
+        return fitness;
+    }
+
+    /**
+     * Evaluation of given number of individuals, it is checked against budget of asynchronous run
+     */
+    private <R> R evaluation(int count, Supplier<R> evaluation) {
+        return runControl.isPresent() ? runControl.get().evaluate(count, evaluation) : evaluation.get();
     }
 
-    private L createNewStatistics(int epoch, long startTime, int countOfFitnessEvaluation, List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
-        return configuration.getStatisticsCreation().returnStatistics(epoch, System.currentTimeMillis() - startTime,
-                countOfFitnessEvaluation, (configuration.isFitnessIsMaximized() ? currentPopulation.stream().max(Comparator.comparing(ind -> ind)) :
-                        currentPopulation.stream().min(Comparator.comparing(ind -> ind))).get(), Collections.unmodifiableList(currentPopulation));
+    private <I extends IndividualWithAssignedFitness<V, T, K>> I observed(I individual) {
+        runControl.ifPresent(control -> control.observe(individual));
+        return individual;
     }
 
-    private Stream<IndividualWithAssignedFitness<V, T, K>> assignFitnessToIndividuals(Stream<Individual<V, T>> individualsStream) {
-        return individualsStream.map(vIndividual -> new IndividualWithAssignedFitness<>(vIndividual, configuration.getFitnessAssessment().computeFitnessForIndividual(vIndividual.decode(configuration.getDecoding()))));
+    /**
+     * Population which was changed outside of evolutionary cycle gets fitness tweaked in context of its new members
+     */
+    List<IndividualWithAssignedFitness<V, T, K>> retweakFitness(int epoch, List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return asPopulation(recomputeFitnessForPopulation(epoch, population.stream().map(EvolutionExecutor::withOriginalFitness).collect(Collectors.toList())));
     }
 
-    private Stream<IndividualWithAssignedFitness<V, T, K>> recomputeFitnessForPopulation(List<IndividualWithAssignedFitness<V, T, K>> population) {
+    private List<IndividualWithAssignedFitness<V, T, K>> recomputeFitnessForPopulation(int epoch, List<IndividualWithAssignedFitness<V, T, K>> population) {
         if (configuration.getFitnessTweakingStrategy().isPresent()) {
-            IndividualFitnessUpdater<V, T, K> updater = configuration.getFitnessTweakingStrategy().get().getIndividualUpdater(Collections.unmodifiableList(population));
-            return IntStream.range(0, population.size()).boxed()
-                    .map(integer -> population.get(integer).updateFitness(integer, population, updater));
+            long start = metrics.start();
+            List<IndividualWithAssignedFitness<V, T, K>> unmodifiablePopulation = Collections.unmodifiableList(population);
+            IndividualFitnessUpdater<V, T, K> updater = configuration.getFitnessTweakingStrategy().get().getIndividualUpdater(unmodifiablePopulation, scheduler);
+            List<IndividualWithAssignedFitness<V, T, K>> tweakedPopulation = generate(scheduler, epoch, EvolutionStage.TWEAKING, 0, population.size(),
+                    index -> population.get(index).updateFitness(index, unmodifiablePopulation, updater));
+            metrics.record(EvolutionPhase.FITNESS_TWEAKING, start);
+            return tweakedPopulation;
         }
-        return population.stream();
+        return population;
     }
 
 }
@@ -0,0 +1,102 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.EvolutionMetrics;
+import cz.eoa.templates.EvolutionPhase;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads metrics from recorder of run on each request, so they are live even in the middle of epoch
+ */
+class EvolutionMetricsBean implements EvolutionMetricsMXBean {
+    private final MetricsRecorder recorder;
+    private volatile int epoch;
+
+    private EvolutionMetricsBean(MetricsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Registers bean of the run in platform MBean server under cz.eoa:type=EvolutionExecutor,name=given name. Bean
+     * registered under the same name by previous run is replaced
+     */
+    static EvolutionMetricsBean register(String name, MetricsRecorder recorder) {
+        EvolutionMetricsBean bean = new EvolutionMetricsBean(recorder);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("cz.eoa:type=EvolutionExecutor,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(bean, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics bean " + name, e);
+        }
+        return bean;
+    }
+
+    void epochCompleted(int epoch) {
+        this.epoch = epoch;
+    }
+
+    @Override
+    public int getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public Map<String, Long> getCallsPerPhase() {
+        EvolutionMetrics metrics = recorder.snapshot();
+        return perPhase(phase -> metrics.getCalls(phase));
+    }
+
+    @Override
+    public Map<String, Long> getMillisPerPhase() {
+        EvolutionMetrics metrics = recorder.snapshot();
+        return perPhase(phase -> metrics.getNanos(phase) / 1_000_000);
+    }
+
+    private static Map<String, Long> perPhase(ToLongFunction<EvolutionPhase> value) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (EvolutionPhase phase : EvolutionPhase.values()) {
+            values.put(phase.name(), value.applyAsLong(phase));
+        }
+        return values;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return recorder.snapshot().getEvaluationLatency().getCount();
+    }
+
+    @Override
+    public long getEvaluationLatencyP50Micros() {
+        return recorder.snapshot().getEvaluationLatency().getPercentile(50) / 1000;
+    }
+
+    @Override
+    public long getEvaluationLatencyP99Micros() {
+        return recorder.snapshot().getEvaluationLatency().getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getEvaluationLatencyMaxMicros() {
+        return recorder.snapshot().getEvaluationLatency().getPercentile(100) / 1000;
+    }
+
+    @Override
+    public long getRejectedMutations() {
+        return recorder.snapshot().getRejectedMutations();
+    }
+
+    @Override
+    public long getExtraBreedingIterations() {
+        return recorder.snapshot().getExtraBreedingIterations();
+    }
+}
@@ -0,0 +1,26 @@
+package cz.eoa.cycle;
+
+import java.util.Map;
+
+/**
+ * Metrics of the current run of executor exposed over JMX. Values are totals since start of the run
+ */
+public interface EvolutionMetricsMXBean {
+    int getEpoch();
+
+    Map<String, Long> getCallsPerPhase();
+
+    Map<String, Long> getMillisPerPhase();
+
+    long getEvaluations();
+
+    long getEvaluationLatencyP50Micros();
+
+    long getEvaluationLatencyP99Micros();
+
+    long getEvaluationLatencyMaxMicros();
+
+    long getRejectedMutations();
+
+    long getExtraBreedingIterations();
+}
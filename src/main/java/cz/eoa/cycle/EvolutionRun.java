@@ -0,0 +1,63 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle of run started asynchronously. Result completes with statistics of finished epochs when termination
+ * condition is met or budget is exhausted, generation in progress is abandoned then. It completes exceptionally with
+ * cancellation when run is cancelled, the best individual evaluated so far stays available.
+ */
+public class EvolutionRun<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    private final RunControl<V, T, K> control;
+    private final CompletableFuture<List<L>> result;
+
+    EvolutionRun(RunControl<V, T, K> control, CompletableFuture<List<L>> result) {
+        this.control = control;
+        this.result = result;
+        //cancelling the future cancels the run
+        result.whenComplete((statistics, throwable) -> {
+            if (result.isCancelled()) {
+                control.stop(RunControl.StopReason.CANCELLATION);
+            }
+        });
+    }
+
+    public CompletableFuture<List<L>> getResult() {
+        return result;
+    }
+
+    /**
+     * The best individual evaluated so far, it is updated by each evaluation
+     */
+    public Optional<IndividualWithAssignedFitness<V, T, K>> getBestSoFar() {
+        return control.getBestSoFar();
+    }
+
+    /**
+     * Fitness evaluations started so far, evaluations of cached genes are not counted
+     */
+    public long getCountOfFitnessEvaluations() {
+        return control.getCountOfEvaluations();
+    }
+
+    /**
+     * No new evaluation is started, running evaluations are interrupted
+     */
+    public void cancel() {
+        control.stop(RunControl.StopReason.CANCELLATION);
+    }
+
+    /**
+     * Run was stopped by its budget of evaluations or by its deadline rather than by termination condition or
+     * cancellation
+     */
+    public boolean isBudgetExhausted() {
+        return control.getStopReason().map(reason -> reason == RunControl.StopReason.EVALUATION_BUDGET
+                || reason == RunControl.StopReason.DEADLINE).orElse(false);
+    }
+}
@@ -0,0 +1,8 @@
+package cz.eoa.cycle;
+
+/**
+ * Stages of evolutionary cycle which are executed as tasks
+ */
+public enum EvolutionStage {
+    INITIALIZATION, BREEDING, EVALUATION, TWEAKING, STATISTICS, SCREENING, REPLACEMENT, MIGRATION
+}
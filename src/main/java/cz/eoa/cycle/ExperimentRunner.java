@@ -0,0 +1,156 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.EpochListener;
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.configuration.EvolutionConfigurationBuilder;
+import cz.eoa.templates.StatisticsPerEpoch;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs variants of configuration, each once for every seed, concurrently on single pool with given number of threads.
+ * Runs with the largest population are started first. Runs with population smaller than 'minimalParallelPopulation'
+ * are executed sequentially by single thread of the pool, parallel stages of larger runs are forked to the same pool,
+ * so idle threads help them and threads are never oversubscribed. Best fitness and evaluations needed to reach target
+ * fitness are aggregated per variant as runs finish, statistics of epochs are not kept by runner. Use
+ * 'statisticsRetention' and 'populationInStatistics' of variants to limit what is kept by runs themselves.
+ */
+public class ExperimentRunner<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    private final int threads;
+    private final ToDoubleFunction<K> fitnessAsDouble;
+    private final Optional<Double> targetFitness;
+    private final int minimalParallelPopulation;
+
+    /**
+     * @param targetFitness run reaches it when its best fitness is at least as good, evaluations to target are not
+     *                      aggregated when it is empty
+     */
+    public ExperimentRunner(int threads, ToDoubleFunction<K> fitnessAsDouble, Optional<Double> targetFitness, int minimalParallelPopulation) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        this.threads = threads;
+        this.fitnessAsDouble = fitnessAsDouble;
+        this.targetFitness = targetFitness;
+        this.minimalParallelPopulation = minimalParallelPopulation;
+    }
+
+    /**
+     * Every variant with every setting applied, named 'variant/setting'. Each setting is applied to its own copy of
+     * variant. Grids of more parameters are created by applying it repeatedly
+     */
+    public static <V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> Map<String, EvolutionConfigurationBuilder<V, T, K, L>> grid(
+            Map<String, EvolutionConfigurationBuilder<V, T, K, L>> variants, Map<String, UnaryOperator<EvolutionConfigurationBuilder<V, T, K, L>>> settings) {
+        Map<String, EvolutionConfigurationBuilder<V, T, K, L>> grid = new LinkedHashMap<>();
+        variants.forEach((variant, builder) -> settings.forEach((setting, apply) -> grid.put(variant + "/" + setting, apply.apply(builder.copy()))));
+        return grid;
+    }
+
+    /**
+     * Runs each variant once for every seed. Seed, executor service, parallel flag and epoch listener are set by runner
+     * on copy of variant, listener of variant is still notified. Builders of variants are not modified.
+     *
+     * @return aggregated results of runs in order of variants
+     */
+    public Map<String, ExperimentStatistics> run(Map<String, EvolutionConfigurationBuilder<V, T, K, L>> variants, List<Long> seeds) {
+        Map<String, Results> resultsOfVariants = new LinkedHashMap<>();
+        List<PlannedRun> plannedRuns = new ArrayList<>();
+        variants.forEach((name, builder) -> {
+            EvolutionConfiguration<V, T, K, L> configuration = builder.build();
+            resultsOfVariants.put(name, new Results());
+            for (long seed : seeds) {
+                plannedRuns.add(new PlannedRun(name, builder.copy(), configuration, seed));
+            }
+        });
+        //the largest runs first, so they do not remain alone at the end
+        plannedRuns.sort(Comparator.comparingInt((PlannedRun plannedRun) -> plannedRun.configuration.getPopulationSize()).reversed());
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<Future<?>> runsInProgress = new ArrayList<>(plannedRuns.size());
+        try {
+            for (PlannedRun plannedRun : plannedRuns) {
+                runsInProgress.add(pool.submit(() -> execute(plannedRun, pool, resultsOfVariants.get(plannedRun.variant))));
+            }
+            for (Future<?> runInProgress : runsInProgress) {
+                runInProgress.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Experiment was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Run of experiment failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, ExperimentStatistics> statistics = new LinkedHashMap<>();
+        resultsOfVariants.forEach((name, results) -> statistics.put(name, results.toStatistics()));
+        return statistics;
+    }
+
+    private void execute(PlannedRun plannedRun, ForkJoinPool pool, Results results) {
+        EvolutionConfiguration<V, T, K, L> configuration = plannedRun.configuration;
+        Optional<EpochListener<V, T, K, L>> listenerOfVariant = configuration.getEpochListener();
+        boolean isFitnessIsMaximized = configuration.isFitnessIsMaximized();
+        double[] bestFitness = {isFitnessIsMaximized ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY};
+        long[] countOfEvaluations = {0}, evaluationsToTarget = {-1};
+        EvolutionConfiguration<V, T, K, L> configurationOfRun = plannedRun.builder
+                .seed(plannedRun.seed)
+                .executorService(pool)
+                .parallel(configuration.isParallel() && configuration.getPopulationSize() >= minimalParallelPopulation)
+                .epochListener(statistics -> {
+                    listenerOfVariant.ifPresent(listener -> listener.epochCompleted(statistics));
+                    double fitness = fitnessAsDouble.applyAsDouble(statistics.getBestIndividual().getFitness());
+                    if (isFitnessIsMaximized ? fitness > bestFitness[0] : fitness < bestFitness[0]) {
+                        bestFitness[0] = fitness;
+                    }
+                    countOfEvaluations[0] = countOfEvaluations[0] + statistics.getCountOfFitnessEvaluations();
+                    if (evaluationsToTarget[0] < 0 && targetFitness.isPresent()
+                            && (isFitnessIsMaximized ? fitness >= targetFitness.get() : fitness <= targetFitness.get())) {
+                        evaluationsToTarget[0] = countOfEvaluations[0];
+                    }
+                })
+                .build();
+        new EvolutionExecutor<>(configurationOfRun).run();
+        results.add(bestFitness[0], countOfEvaluations[0], evaluationsToTarget[0]);
+    }
+
+    private class PlannedRun {
+        private final String variant;
+        //copy of variant owned by this run
+        private final EvolutionConfigurationBuilder<V, T, K, L> builder;
+        private final EvolutionConfiguration<V, T, K, L> configuration;
+        private final long seed;
+
+        private PlannedRun(String variant, EvolutionConfigurationBuilder<V, T, K, L> builder, EvolutionConfiguration<V, T, K, L> configuration, long seed) {
+            this.variant = variant;
+            this.builder = builder;
+            this.configuration = configuration;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * Results of finished runs of variant, runs of the same variant may finish at once
+     */
+    private static class Results {
+        private final List<Double> bestFitness = new ArrayList<>();
+        private final List<Double> countOfEvaluations = new ArrayList<>();
+        private final List<Double> evaluationsToTarget = new ArrayList<>();
+
+        private synchronized void add(double bestFitnessOfRun, long countOfEvaluationsOfRun, long evaluationsToTargetOfRun) {
+            bestFitness.add(bestFitnessOfRun);
+            countOfEvaluations.add((double) countOfEvaluationsOfRun);
+            if (evaluationsToTargetOfRun >= 0) {
+                evaluationsToTarget.add((double) evaluationsToTargetOfRun);
+            }
+        }
+
+        private synchronized ExperimentStatistics toStatistics() {
+            return new ExperimentStatistics(bestFitness, countOfEvaluations, evaluationsToTarget);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package cz.eoa.cycle;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Aggregated results of all runs of single variant of experiment. Evaluations to target are known only for runs which
+ * reached target fitness
+ */
+@Getter
+public class ExperimentStatistics {
+    private final int countOfRuns;
+    private final Sample bestFitness;
+    private final Sample countOfEvaluations;
+    private final Sample evaluationsToTarget;
+
+    ExperimentStatistics(Collection<Double> bestFitness, Collection<Double> countOfEvaluations, Collection<Double> evaluationsToTarget) {
+        this.countOfRuns = bestFitness.size();
+        this.bestFitness = new Sample(bestFitness);
+        this.countOfEvaluations = new Sample(countOfEvaluations);
+        this.evaluationsToTarget = new Sample(evaluationsToTarget);
+    }
+
+    /**
+     * Share of runs which reached target fitness
+     */
+    public double getSuccessRate() {
+        return countOfRuns == 0 ? 0 : (double) evaluationsToTarget.getCount() / countOfRuns;
+    }
+
+    public String getSummary() {
+        return "runs: " + countOfRuns + ", best fitness " + bestFitness.getSummary() + ", #fitness evaluations " + countOfEvaluations.getSummary()
+                + ", success rate: " + getSuccessRate() + ", evaluations to target " + evaluationsToTarget.getSummary();
+    }
+
+    /**
+     * Sorted values of runs. Statistics of empty sample are NaN
+     */
+    public static class Sample {
+        private final double[] values;
+
+        private Sample(Collection<Double> values) {
+            this.values = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        }
+
+        public int getCount() {
+            return values.length;
+        }
+
+        public double getMean() {
+            return values.length == 0 ? Double.NaN : Arrays.stream(values).sum() / values.length;
+        }
+
+        public double getMedian() {
+            return getQuantile(0.5);
+        }
+
+        /**
+         * Quantile interpolated linearly between the closest values, 0 is minimum and 1 is maximum
+         */
+        public double getQuantile(double probability) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Probability has to be between 0 and 1");
+            }
+            if (values.length == 0) {
+                return Double.NaN;
+            }
+            double position = probability * (values.length - 1);
+            int lower = (int) Math.floor(position), upper = (int) Math.ceil(position);
+            return values[lower] + (position - lower) * (values[upper] - values[lower]);
+        }
+
+        public String getSummary() {
+            return "mean: " + getMean() + ", quartiles: " + getQuantile(0.25) + " / " + getMedian() + " / " + getQuantile(0.75);
+        }
+    }
+}
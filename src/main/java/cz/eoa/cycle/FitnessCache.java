@@ -0,0 +1,156 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.FitnessCacheStatistics;
+import cz.eoa.templates.operations.GenesEquivalence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded thread-safe cache of fitness values keyed by content of genes. Cache is split to segments, each segment
+ * evicts its least recently used genome when it is full. Fitness is computed outside of the lock, so the same genome
+ * may be occasionally evaluated by two threads at once.
+ * Genes are expected not to be modified once individual was created.
+ */
+public class FitnessCache<V, K> {
+    private static final int MAX_SEGMENTS = 16;
+    private final GenesEquivalence<V> equivalence;
+    private final List<Segment> segments;
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    public FitnessCache(int maximumSize, GenesEquivalence<V> equivalence) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Size of cache must be positive, got " + maximumSize);
+        }
+        this.equivalence = equivalence;
+        int countOfSegments = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize));
+        this.segments = new ArrayList<>(countOfSegments);
+        //remainder of size is spread over the first segments, so the cache holds exactly maximum size
+        for (int i = 0; i < countOfSegments; i++) {
+            segments.add(new Segment(maximumSize / countOfSegments + (i < maximumSize % countOfSegments ? 1 : 0)));
+        }
+    }
+
+    public K computeIfAbsent(V genes, Function<V, K> fitnessFunction) {
+        GenesKey key = new GenesKey(genes);
+        Segment segment = segmentOf(key);
+        K fitness = segment.get(key);
+        if (fitness != null) {
+            hits.increment();
+            return fitness;
+        }
+        misses.increment();
+        fitness = fitnessFunction.apply(genes);
+        segment.put(key, fitness);
+        return fitness;
+    }
+
+    /**
+     * @return cached fitness or null, lookup is counted as hit or miss
+     */
+    public K getIfPresent(V genes) {
+        GenesKey key = new GenesKey(genes);
+        K fitness = segmentOf(key).get(key);
+        if (fitness != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return fitness;
+    }
+
+    public void put(V genes, K fitness) {
+        GenesKey key = new GenesKey(genes);
+        segmentOf(key).put(key, fitness);
+    }
+
+    private Segment segmentOf(GenesKey key) {
+        return segments.get(key.hash & (segments.size() - 1));
+    }
+
+    public FitnessCacheStatistics snapshot() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size = size + segment.size();
+        }
+        return new FitnessCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private class GenesKey {
+        private final V genes;
+        private final int hash;
+
+        private GenesKey(V genes) {
+            this.genes = genes;
+            int h = equivalence.hash(genes);
+            //spread higher bits as segment is selected by lower ones
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FitnessCache.GenesKey)) {
+                return false;
+            }
+            GenesKey other = (GenesKey) obj;
+            return hash == other.hash && equivalence.equivalent(genes, other.genes);
+        }
+    }
+
+    private class Segment {
+        private final Map<GenesKey, K> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LeastRecentlyUsedMap<>(capacity, evictions);
+        }
+
+        private synchronized K get(GenesKey key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(GenesKey key, K fitness) {
+            entries.put(key, fitness);
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Map in access order which evicts its eldest entry when it exceeds capacity
+     */
+    private static class LeastRecentlyUsedMap<A, B> extends LinkedHashMap<A, B> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+        private final LongAdder evictions;
+
+        private LeastRecentlyUsedMap(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<A, B> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import lombok.Getter;
+
+/**
+ * Individual evaluated incrementally, keeps state of evaluation for its mutants
+ */
+@Getter
+class IndividualWithEvaluationState<V, T, K extends Comparable<K>> extends IndividualWithAssignedFitness<V, T, K> {
+    private final Object state;
+
+    IndividualWithEvaluationState(Individual<V, T> individual, K fitness, Object state) {
+        super(individual, fitness);
+        this.state = state;
+    }
+}
@@ -0,0 +1,171 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.configuration.SurrogatePolicy;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs several populations (islands) at once, each on its own thread and with its own configuration. Islands do not
+ * wait for each other, migrants are exchanged through lock-free queues. Each island terminates when its own
+ * termination condition is met.
+ * Seed of each island and of its choice of migration targets is derived from master seed and index of the island, so
+ * islands sharing configuration evolve different populations. Master seed is the seed of the first configuration,
+ * seeds of other configurations are ignored. Islands can not share diversity measure, surrogate model or path of run
+ * log, as these keep state of the run.
+ * As islands already run concurrently, it is usually better to configure them as not parallel.
+ */
+public class IslandEvolutionExecutor<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    private final static Logger logger = Logger.getLogger(IslandEvolutionExecutor.class.getName());
+    private final List<EvolutionConfiguration<V, T, K, L>> islands;
+    private final MigrationPolicy migrationPolicy;
+    private long seed;
+
+    public IslandEvolutionExecutor(List<EvolutionConfiguration<V, T, K, L>> islands, MigrationPolicy migrationPolicy) {
+        if (islands.isEmpty()) {
+            throw new IllegalArgumentException("At least one island has to be configured");
+        }
+        if (islands.stream().map(EvolutionConfiguration::isFitnessIsMaximized).distinct().count() > 1) {
+            throw new IllegalArgumentException("All islands have to either maximize or minimize fitness");
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (isStateShared(islands.get(j), islands.get(i))) {
+                    throw new IllegalArgumentException("Islands " + j + " and " + i + " share diversity measure, surrogate model or run log, each island needs its own");
+                }
+            }
+        }
+        this.islands = new ArrayList<>(islands);
+        this.migrationPolicy = migrationPolicy;
+    }
+
+    public IslandEvolutionResult<V, T, K, L> run() {
+        seed = islands.get(0).getSeed().orElseGet(() -> new SplittableRandom().nextLong());
+        logger.info("Master seed of islands: " + seed);
+        RandomStreams randomStreams = new RandomStreams(seed);
+        List<Queue<List<IndividualWithAssignedFitness<V, T, K>>>> inboxes = islands.stream()
+                .map(configuration -> new ConcurrentLinkedQueue<List<IndividualWithAssignedFitness<V, T, K>>>())
+                .collect(Collectors.toList());
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(islands.size(), runnable -> {
+            Thread thread = new Thread(runnable, "island-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<L>>> islandsInProgress = new ArrayList<>();
+            for (int i = 0; i < islands.size(); i++) {
+                int island = i;
+                islandsInProgress.add(threads.submit(() -> runIsland(island, randomStreams, inboxes)));
+            }
+            List<List<L>> statisticsPerIsland = new ArrayList<>();
+            for (Future<List<L>> islandInProgress : islandsInProgress) {
+                statisticsPerIsland.add(islandInProgress.get());
+            }
+            return new IslandEvolutionResult<>(statisticsPerIsland, islands.get(0).isFitnessIsMaximized());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evolution on islands was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Evolution on island failed", e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Islands run at the same time, so they can not share objects which keep state of run
+     */
+    private static boolean isStateShared(EvolutionConfiguration<?, ?, ?, ?> first, EvolutionConfiguration<?, ?, ?, ?> second) {
+        return isSame(first.getDiversityMeasure(), second.getDiversityMeasure())
+                || isSame(first.getSurrogatePolicy().map(SurrogatePolicy::getModel), second.getSurrogatePolicy().map(SurrogatePolicy::getModel))
+                || (first.getRunLogPolicy().isPresent() && second.getRunLogPolicy().isPresent()
+                && first.getRunLogPolicy().get().getPath().toAbsolutePath().normalize().equals(second.getRunLogPolicy().get().getPath().toAbsolutePath().normalize()));
+    }
+
+    private static boolean isSame(Optional<?> first, Optional<?> second) {
+        return first.isPresent() && second.isPresent() && first.get() == second.get();
+    }
+
+    /**
+     * Master seed of the last run. Configuring the first island with it repeats the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    private List<L> runIsland(int island, RandomStreams randomStreams, List<Queue<List<IndividualWithAssignedFitness<V, T, K>>>> inboxes) {
+        EvolutionConfiguration<V, T, K, L> configuration = islands.get(island);
+        EvolutionExecutor<V, T, K, L> executor = new EvolutionExecutor<>(configuration);
+        Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest = configuration.isFitnessIsMaximized() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        EpochHistory<L> epochStatistics = new EpochHistory<>(configuration.getStatisticsRetention());
+        executor.prepareRun(randomStreams.stream(0, EvolutionStage.INITIALIZATION, island).nextLong());
+        SplittableRandom random = randomStreams.stream(0, EvolutionStage.MIGRATION, island);
+        try {
+            long start = System.currentTimeMillis();
+            List<IndividualWithAssignedFitness<V, T, K>> currentPopulation = executor.createInitialPopulation();
+            executor.measureDiversity(currentPopulation);
+            L firstStatistics = executor.createNewStatistics(0, start, (int) executor.getCountOfEvaluations(), currentPopulation);
+            executor.detectStagnation(firstStatistics);
+            executor.recordEpoch(epochStatistics, firstStatistics);
+            logger.info(() -> "Island " + island + ": " + epochStatistics.getLatest().getSummary());
+
+            int epoch = 1;
+            while (executor.shouldContinue(epochStatistics)) {
+                start = System.currentTimeMillis();
+                currentPopulation = acceptImmigrants(executor, epoch, currentPopulation, inboxes.get(island), fromWorstToBest);
+                EvolutionExecutor<V, T, K, L>.Generation generation = executor.createNextGeneration(epoch, currentPopulation);
+                currentPopulation = generation.getPopulation();
+                executor.measureDiversity(currentPopulation);
+                L statistics = executor.createNewStatistics(epoch, start, generation.getFitnessEvaluations(), generation);
+                executor.detectStagnation(statistics);
+                executor.recordEpoch(epochStatistics, statistics);
+                logger.info(() -> "Island " + island + ": " + epochStatistics.getLatest().getSummary());
+
+                if (islands.size() > 1 && epoch % migrationPolicy.getInterval() == 0) {
+                    List<IndividualWithAssignedFitness<V, T, K>> migrants = Collections.unmodifiableList(TopK.of(currentPopulation, migrationPolicy.getCountOfMigrants(), fromWorstToBest)
+                            .getItems().stream()
+                            .map(EvolutionExecutor::withOriginalFitness)
+                            .collect(Collectors.toList()));
+                    for (int target : migrationPolicy.getTopology().targets(island, islands.size(), random)) {
+                        inboxes.get(target).offer(migrants);
+                    }
+                }
+                epoch++;
+            }
+            return epochStatistics;
+        } finally {
+            executor.finishRun();
+        }
+    }
+
+    /**
+     * Replaces the worst individuals of population by all migrants which arrived since the last epoch. Migrants carry
+     * original fitness, so individuals are compared by it and fitness of the new population is tweaked again
+     */
+    private List<IndividualWithAssignedFitness<V, T, K>> acceptImmigrants(EvolutionExecutor<V, T, K, L> executor, int epoch,
+                                                                          List<IndividualWithAssignedFitness<V, T, K>> population,
+                                                                          Queue<List<IndividualWithAssignedFitness<V, T, K>>> inbox,
+                                                                          Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest) {
+        List<IndividualWithAssignedFitness<V, T, K>> immigrants = new ArrayList<>();
+        List<IndividualWithAssignedFitness<V, T, K>> migrants;
+        while ((migrants = inbox.poll()) != null) {
+            immigrants.addAll(migrants);
+        }
+        if (immigrants.isEmpty()) {
+            return population;
+        }
+        List<IndividualWithAssignedFitness<V, T, K>> originalPopulation = population.stream()
+                .map(EvolutionExecutor::withOriginalFitness)
+                .collect(Collectors.toList());
+        List<IndividualWithAssignedFitness<V, T, K>> newPopulation = TopK.of(originalPopulation, Math.max(0, population.size() - immigrants.size()), fromWorstToBest).getItems();
+        newPopulation.addAll(immigrants.subList(0, Math.min(immigrants.size(), population.size())));
+        return executor.retweakFitness(epoch, newPopulation);
+    }
+}
@@ -0,0 +1,39 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics of all islands. Order of islands is the same as order of their configurations
+ */
+@Getter
+@AllArgsConstructor
+public class IslandEvolutionResult<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    private final List<List<L>> statisticsPerIsland;
+    private final boolean isFitnessIsMaximized;
+
+    /**
+     * Statistics of all islands ordered by epoch, each epoch is present once for every island which executed it.
+     * Statistics of the same epoch keep order of islands
+     */
+    public List<L> getStatisticsOfAllIslands() {
+        return statisticsPerIsland.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt((L statistics) -> statistics.getEpoch()))
+                .collect(Collectors.toList());
+    }
+
+    public IndividualWithAssignedFitness<V, T, K> getBestIndividual() {
+        Comparator<IndividualWithAssignedFitness<V, T, K>> comparator = Comparator.naturalOrder();
+        return statisticsPerIsland.stream()
+                .flatMap(List::stream)
+                .map(statistics -> statistics.getBestIndividual())
+                .max(isFitnessIsMaximized ? comparator : comparator.reversed()).get();
+    }
+}
@@ -0,0 +1,78 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.EvolutionMetrics;
+import cz.eoa.templates.EvolutionPhase;
+import cz.eoa.templates.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects metrics of run from all threads. When disabled, clock is not read and nothing is recorded
+ */
+class MetricsRecorder {
+    private final boolean isEnabled;
+    private final LongAdder[] calls = adders(EvolutionPhase.values().length);
+    private final LongAdder[] nanos = adders(EvolutionPhase.values().length);
+    private final LongAdder[] evaluationLatency = adders(LatencyHistogram.BUCKETS);
+    private final LongAdder rejectedMutations = new LongAdder();
+    private final LongAdder extraBreedingIterations = new LongAdder();
+
+    MetricsRecorder(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Start of measured section, pass it to {@link #record(EvolutionPhase, long)} at its end
+     */
+    long start() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    void record(EvolutionPhase phase, long start) {
+        if (isEnabled) {
+            long duration = System.nanoTime() - start;
+            calls[phase.ordinal()].increment();
+            nanos[phase.ordinal()].add(duration);
+            if (phase == EvolutionPhase.FITNESS_EVALUATION) {
+                evaluationLatency[LatencyHistogram.bucketOf(duration)].increment();
+            }
+        }
+    }
+
+    void rejectedMutation() {
+        if (isEnabled) {
+            rejectedMutations.increment();
+        }
+    }
+
+    void extraBreedingIteration() {
+        if (isEnabled) {
+            extraBreedingIterations.increment();
+        }
+    }
+
+    EvolutionMetrics snapshot() {
+        return new EvolutionMetrics(sums(calls), sums(nanos), new LatencyHistogram(sums(evaluationLatency)),
+                rejectedMutations.sum(), extraBreedingIterations.sum());
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,23 @@
+package cz.eoa.cycle;
+
+import lombok.Getter;
+
+/**
+ * How often, how many and where individuals migrate between islands. Each island sends its best individuals
+ * every 'interval' epochs, received migrants replace the worst individuals of target island.
+ */
+@Getter
+public class MigrationPolicy {
+    private final MigrationTopology topology;
+    private final int interval;
+    private final int countOfMigrants;
+
+    public MigrationPolicy(MigrationTopology topology, int interval, int countOfMigrants) {
+        if (interval < 1 || countOfMigrants < 0) {
+            throw new IllegalArgumentException("Interval of migration has to be positive and count of migrants can not be negative");
+        }
+        this.topology = topology;
+        this.interval = interval;
+        this.countOfMigrants = countOfMigrants;
+    }
+}
@@ -0,0 +1,34 @@
+package cz.eoa.cycle;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Defines to which islands migrants from given island are sent
+ */
+public enum MigrationTopology {
+    //migrants are sent to the next island, the last island sends them to the first one
+    RING {
+        @Override
+        int[] targets(int island, int countOfIslands, SplittableRandom random) {
+            return new int[]{(island + 1) % countOfIslands};
+        }
+    },
+    //migrants are sent to all other islands
+    FULLY_CONNECTED {
+        @Override
+        int[] targets(int island, int countOfIslands, SplittableRandom random) {
+            return IntStream.range(0, countOfIslands).filter(value -> value != island).toArray();
+        }
+    },
+    //migrants are sent to one other island picked at random at each migration
+    RANDOM {
+        @Override
+        int[] targets(int island, int countOfIslands, SplittableRandom random) {
+            int target = random.nextInt(countOfIslands - 1);
+            return new int[]{target >= island ? target + 1 : target};
+        }
+    };
+
+    abstract int[] targets(int island, int countOfIslands, SplittableRandom random);
+}
@@ -0,0 +1,32 @@
+package cz.eoa.cycle;
+
+import lombok.Getter;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent random streams for tasks from master seed. Stream depends only on seed, epoch, stage and index
+ * of the task, so it is the same no matter which thread executes the task
+ */
+public class RandomStreams {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    @Getter
+    private final long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public SplittableRandom stream(int epoch, EvolutionStage stage, long index) {
+        long mixed = mix64(seed + GOLDEN_GAMMA * (epoch + 1L));
+        mixed = mix64(mixed + GOLDEN_GAMMA * (stage.ordinal() + 1L));
+        return new SplittableRandom(mix64(mixed + GOLDEN_GAMMA * (index + 1L)));
+    }
+
+    //finalizer of SplitMix64
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,31 @@
+package cz.eoa.cycle;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Limits of asynchronous run - wall-clock time from its start and count of fitness evaluations. Both are checked before
+ * each evaluation, evaluations in progress are interrupted when time runs out
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RunBudget {
+    private final Optional<Duration> duration;
+    private final Optional<Long> fitnessEvaluations;
+
+    public static RunBudget unlimited() {
+        return new RunBudget(Optional.empty(), Optional.empty());
+    }
+
+    public RunBudget duration(Duration duration) {
+        return new RunBudget(Optional.of(duration), fitnessEvaluations);
+    }
+
+    public RunBudget fitnessEvaluations(long fitnessEvaluations) {
+        return new RunBudget(duration, Optional.of(fitnessEvaluations));
+    }
+}
@@ -0,0 +1,154 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Budget and cancellation of asynchronous run shared by all threads evaluating its individuals. Evaluation is started
+ * only when run is not stopped and budget has enough evaluations left, so the budget is never exceeded. Threads
+ * evaluating when run is stopped are interrupted. Keeps the best individual evaluated so far and the reason why run
+ * ended.
+ */
+class RunControl<V, T, K extends Comparable<K>> {
+    //single daemon thread stops runs when their time is up
+    private static final ScheduledExecutorService deadlines = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "evolution-run-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long deadline;
+    private final long evaluationLimit;
+    private final boolean isFitnessIsMaximized;
+    private final AtomicLong countOfEvaluations = new AtomicLong();
+    private final AtomicReference<IndividualWithAssignedFitness<V, T, K>> bestSoFar = new AtomicReference<>();
+    //threads evaluating at the moment, guarded by itself together with flags
+    private final Set<Thread> evaluatingThreads = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Optional<ScheduledFuture<?>> deadlineTimer;
+    //set once, the first reason wins
+    private volatile StopReason stopReason = null;
+
+    enum StopReason {
+        EVALUATION_BUDGET, DEADLINE, CANCELLATION, COMPLETION
+    }
+
+    RunControl(RunBudget budget, boolean isFitnessIsMaximized) {
+        if (budget.getFitnessEvaluations().isPresent() && budget.getFitnessEvaluations().get() < 0) {
+            throw new IllegalArgumentException("Budget of fitness evaluations can not be negative");
+        }
+        this.deadline = budget.getDuration().map(duration -> System.nanoTime() + duration.toNanos()).orElse(Long.MAX_VALUE);
+        this.evaluationLimit = budget.getFitnessEvaluations().orElse(Long.MAX_VALUE);
+        this.isFitnessIsMaximized = isFitnessIsMaximized;
+        this.deadlineTimer = budget.getDuration().map(duration -> deadlines.schedule(() -> stop(StopReason.DEADLINE), duration.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Runs evaluation of given number of individuals, it is not started when run is stopped or budget would be exceeded
+     *
+     * @throws RunStoppedException when run is stopped before or during evaluation
+     */
+    <R> R evaluate(int count, Supplier<R> evaluation) {
+        Thread thread = Thread.currentThread();
+        synchronized (evaluatingThreads) {
+            if (stopReason != null) {
+                throw new RunStoppedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                stop(StopReason.DEADLINE);
+                throw new RunStoppedException();
+            }
+            if (!reserve(count)) {
+                stop(StopReason.EVALUATION_BUDGET);
+                throw new RunStoppedException();
+            }
+            evaluatingThreads.add(thread);
+        }
+        try {
+            return evaluation.get();
+        } catch (RuntimeException e) {
+            //interrupted evaluation may fail in any way
+            if (stopReason != null) {
+                throw new RunStoppedException();
+            }
+            throw e;
+        } finally {
+            synchronized (evaluatingThreads) {
+                evaluatingThreads.remove(thread);
+            }
+            //no interrupt can come after thread was removed, the pending one is not left to the next task of thread
+            if (stopReason != null) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private boolean reserve(int count) {
+        long reserved = countOfEvaluations.get();
+        while (reserved + count <= evaluationLimit) {
+            if (countOfEvaluations.compareAndSet(reserved, reserved + count)) {
+                return true;
+            }
+            reserved = countOfEvaluations.get();
+        }
+        return false;
+    }
+
+    /**
+     * No other evaluation is started, running ones are interrupted. Nothing changes when run already ended
+     */
+    void stop(StopReason reason) {
+        synchronized (evaluatingThreads) {
+            if (stopReason != null) {
+                return;
+            }
+            stopReason = reason;
+            evaluatingThreads.forEach(Thread::interrupt);
+        }
+        deadlineTimer.ifPresent(timer -> timer.cancel(false));
+    }
+
+    /**
+     * Run ended by itself unless it was stopped before, deadline can not stop it anymore
+     */
+    void complete() {
+        stop(StopReason.COMPLETION);
+    }
+
+    void observe(IndividualWithAssignedFitness<V, T, K> individual) {
+        IndividualWithAssignedFitness<V, T, K> best = bestSoFar.get();
+        while (best == null || (isFitnessIsMaximized ? individual.getFitness().compareTo(best.getFitness()) > 0
+                : individual.getFitness().compareTo(best.getFitness()) < 0)) {
+            if (bestSoFar.compareAndSet(best, individual)) {
+                return;
+            }
+            best = bestSoFar.get();
+        }
+    }
+
+    boolean isStopped() {
+        StopReason reason = stopReason;
+        return reason != null && reason != StopReason.COMPLETION;
+    }
+
+    Optional<StopReason> getStopReason() {
+        return Optional.ofNullable(stopReason);
+    }
+
+    Optional<IndividualWithAssignedFitness<V, T, K>> getBestSoFar() {
+        return Optional.ofNullable(bestSoFar.get());
+    }
+
+    long getCountOfEvaluations() {
+        return countOfEvaluations.get();
+    }
+}
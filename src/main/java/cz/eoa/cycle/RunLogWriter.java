@@ -0,0 +1,235 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.RunLogFormat;
+import cz.eoa.configuration.RunLogPolicy;
+import cz.eoa.templates.FitnessAggregates;
+import cz.eoa.templates.StatisticsPerEpoch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes statistics of epochs to run log on its own thread. Statistics are handed over through bounded lock-free
+ * queue with single producer (records are offered one at a time) and formatted by writer, so evolution only decides
+ * whether epoch is written. Lines are buffered and written to file channel when buffer is full or queue is empty.
+ * Failed write is logged, the rest of the run is not written then.
+ */
+class RunLogWriter<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(RunLogWriter.class.getName());
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long IDLE_NANOS = 1_000_000;
+    private final RunLogPolicy policy;
+    private final boolean isFitnessIsMaximized;
+    private final Optional<ToDoubleFunction<K>> fitnessAsDouble;
+    private final FileChannel channel;
+    private final AtomicReferenceArray<L> queue;
+    //index of the next record to write and the next record to offer, queue is full when they differ by its capacity
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean isClosed = false;
+    private K bestFitness = null;
+
+    RunLogWriter(RunLogPolicy policy, boolean isFitnessIsMaximized, Optional<ToDoubleFunction<K>> fitnessAsDouble) {
+        if (policy.getQueueCapacity() < 1 || policy.getInterval() < 0) {
+            throw new IllegalArgumentException("Capacity of queue has to be positive and interval can not be negative");
+        }
+        this.policy = policy;
+        this.isFitnessIsMaximized = isFitnessIsMaximized;
+        this.fitnessAsDouble = fitnessAsDouble;
+        this.queue = new AtomicReferenceArray<>(policy.getQueueCapacity());
+        try {
+            this.channel = FileChannel.open(policy.getPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.thread = new Thread(this::write, "run-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Hands statistics over to writer when epoch should be written. Waits while queue is full
+     */
+    void offer(L statistics) {
+        K fitness = statistics.getBestIndividual().getFitness();
+        boolean isImprovement = bestFitness == null || (isFitnessIsMaximized ? fitness.compareTo(bestFitness) > 0 : fitness.compareTo(bestFitness) < 0);
+        if (isImprovement) {
+            bestFitness = fitness;
+        }
+        boolean isDue = policy.getInterval() > 0 && statistics.getEpoch() % policy.getInterval() == 0;
+        if (!isDue && !(policy.isImprovementLogged() && isImprovement)) {
+            return;
+        }
+        long index = tail.get();
+        while (index - head.get() == queue.length() && thread.isAlive()) {
+            LockSupport.parkNanos(IDLE_NANOS / 10);
+        }
+        queue.lazySet((int) (index % queue.length()), statistics);
+        tail.lazySet(index + 1);
+    }
+
+    private void write() {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        StringBuilder line = new StringBuilder();
+        try {
+            if (policy.getFormat() == RunLogFormat.CSV) {
+                line.append("epoch,execution,fitness_evaluations,best_fitness,mean_fitness,fitness_variance,min_fitness,max_fitness\n");
+                append(line, encoder, buffer);
+            }
+            while (true) {
+                boolean isClosing = isClosed;
+                long index = head.get();
+                if (index == tail.get()) {
+                    flush(buffer);
+                    if (isClosing) {
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                int slot = (int) (index % queue.length());
+                L statistics = queue.get(slot);
+                queue.lazySet(slot, null);
+                head.lazySet(index + 1);
+                line.setLength(0);
+                if (policy.getFormat() == RunLogFormat.CSV) {
+                    formatCsv(statistics, line);
+                } else {
+                    formatJson(statistics, line);
+                }
+                append(line, encoder, buffer);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Run log could not be written to " + policy.getPath(), e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Run log " + policy.getPath() + " could not be closed", e);
+            }
+        }
+    }
+
+    private void append(StringBuilder line, CharsetEncoder encoder, ByteBuffer buffer) throws IOException {
+        CharBuffer characters = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(characters, buffer, true);
+            if (!result.isOverflow()) {
+                break;
+            }
+            flush(buffer);
+        }
+        encoder.reset();
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void formatCsv(L statistics, StringBuilder line) {
+        line.append(statistics.getEpoch()).append(',').append(statistics.getExecution()).append(',')
+                .append(statistics.getCountOfFitnessEvaluations()).append(',');
+        K fitness = statistics.getBestIndividual().getFitness();
+        if (fitnessAsDouble.isPresent() || fitness instanceof Number) {
+            line.append(asDouble(fitness));
+        } else {
+            line.append('"').append(fitness.toString().replace("\"", "\"\"")).append('"');
+        }
+        Optional<FitnessAggregates> aggregates = statistics.getFitnessAggregates();
+        if (aggregates.isPresent()) {
+            line.append(',').append(aggregates.get().getMean()).append(',').append(aggregates.get().getVariance())
+                    .append(',').append(aggregates.get().getMin()).append(',').append(aggregates.get().getMax());
+        } else {
+            line.append(",,,,");
+        }
+        line.append('\n');
+    }
+
+    private void formatJson(L statistics, StringBuilder line) {
+        line.append("{\"epoch\":").append(statistics.getEpoch())
+                .append(",\"execution\":").append(statistics.getExecution())
+                .append(",\"fitnessEvaluations\":").append(statistics.getCountOfFitnessEvaluations())
+                .append(",\"bestFitness\":");
+        K fitness = statistics.getBestIndividual().getFitness();
+        if (fitnessAsDouble.isPresent() || fitness instanceof Number) {
+            appendJsonNumber(asDouble(fitness), line);
+        } else {
+            appendJsonString(fitness.toString(), line);
+        }
+        statistics.getFitnessAggregates().ifPresent(aggregates -> {
+            line.append(",\"meanFitness\":");
+            appendJsonNumber(aggregates.getMean(), line);
+            line.append(",\"fitnessVariance\":");
+            appendJsonNumber(aggregates.getVariance(), line);
+            line.append(",\"minFitness\":");
+            appendJsonNumber(aggregates.getMin(), line);
+            line.append(",\"maxFitness\":");
+            appendJsonNumber(aggregates.getMax(), line);
+        });
+        line.append("}\n");
+    }
+
+    private double asDouble(K fitness) {
+        return fitnessAsDouble.isPresent() ? fitnessAsDouble.get().applyAsDouble(fitness) : ((Number) fitness).doubleValue();
+    }
+
+    /**
+     * JSON has no infinity nor NaN, they are written as null
+     */
+    private static void appendJsonNumber(double value, StringBuilder line) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            line.append("null");
+        } else {
+            line.append(value);
+        }
+    }
+
+    private static void appendJsonString(String value, StringBuilder line) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+                line.append('\\').append(character);
+            } else if (character < 0x20) {
+                line.append(String.format("\\u%04x", (int) character));
+            } else {
+                line.append(character);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Waits until all offered records are written
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
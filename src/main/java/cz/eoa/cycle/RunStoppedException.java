@@ -0,0 +1,12 @@
+package cz.eoa.cycle;
+
+/**
+ * Thrown by evaluation when run is cancelled or its budget is exhausted, generation in progress is abandoned
+ */
+class RunStoppedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    RunStoppedException() {
+        super("Run was stopped", null, false, false);
+    }
+}
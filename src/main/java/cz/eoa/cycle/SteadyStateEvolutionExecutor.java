@@ -0,0 +1,239 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.EvolutionConfiguration;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.StatisticsPerEpoch;
+import cz.eoa.templates.operations.SteadyStateReplacementStrategy;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous steady-state evolution. Workers continuously select parents from shared population, breed and evaluate
+ * offspring and insert them to population by replacement strategy, there are no generations to wait for.
+ * Statistics are created after each 'evaluationsPerReport' evaluations, epoch of statistics is number of the report.
+ * Offspring with fitness in cache is not evaluated, so it is not counted.
+ * Population is updated without locks, offspring replaces individual only if it is still the one seen by replacement
+ * strategy, otherwise the slot is selected again. Replacement strategy of configuration, fitness tweaking and stagnation
+ * policy are not used.
+ */
+public class SteadyStateEvolutionExecutor<V, T, K extends Comparable<K>, L extends StatisticsPerEpoch<V, T, K>> {
+    private final static Logger logger = Logger.getLogger(SteadyStateEvolutionExecutor.class.getName());
+    private final EvolutionConfiguration<V, T, K, L> configuration;
+    private final SteadyStateReplacementStrategy<V, T, K> replacement;
+    private final int countOfWorkers;
+    private final int evaluationsPerReport;
+
+    public SteadyStateEvolutionExecutor(EvolutionConfiguration<V, T, K, L> configuration, SteadyStateReplacementStrategy<V, T, K> replacement,
+                                        int countOfWorkers, int evaluationsPerReport) {
+        if (configuration.getFitnessTweakingStrategy().isPresent()) {
+            throw new IllegalArgumentException("Fitness tweaking is not supported by steady-state evolution");
+        }
+        if (configuration.getStagnationPolicy().isPresent()) {
+            throw new IllegalArgumentException("Stagnation policy is not supported by steady-state evolution");
+        }
+        if (countOfWorkers < 1 || evaluationsPerReport < 1) {
+            throw new IllegalArgumentException("Count of workers and evaluations per report have to be positive");
+        }
+        this.configuration = configuration;
+        this.replacement = replacement;
+        this.countOfWorkers = countOfWorkers;
+        this.evaluationsPerReport = evaluationsPerReport;
+    }
+
+    public List<L> run() {
+        EvolutionExecutor<V, T, K, L> executor = new EvolutionExecutor<>(configuration);
+        EpochHistory<L> epochStatistics = new EpochHistory<>(configuration.getStatisticsRetention());
+        executor.prepareRun();
+
+        long start = System.currentTimeMillis();
+        List<IndividualWithAssignedFitness<V, T, K>> initialPopulation = executor.createInitialPopulation();
+        executor.measureDiversity(initialPopulation);
+        executor.recordEpoch(epochStatistics, executor.createNewStatistics(0, start, (int) executor.getCountOfEvaluations(), initialPopulation));
+        logger.info(() -> epochStatistics.getLatest().getSummary());
+        if (!executor.shouldContinue(epochStatistics)) {
+            executor.finishRun();
+            return epochStatistics;
+        }
+
+        SharedPopulation population = new SharedPopulation(initialPopulation);
+        Reporter reporter = new Reporter(executor, epochStatistics, population);
+        AtomicBoolean isRunning = new AtomicBoolean(true);
+        AtomicLong tasks = new AtomicLong();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(countOfWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "steady-state-worker-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workersInProgress = new ArrayList<>();
+            for (int i = 0; i < countOfWorkers; i++) {
+                workersInProgress.add(workers.submit(() -> {
+                    PopulationView view = new PopulationView(population);
+                    try {
+                        while (isRunning.get()) {
+                            long task = tasks.getAndIncrement();
+                            for (EvolutionExecutor<V, T, K, L>.Offspring child : executor.withRandom(0, EvolutionStage.BREEDING, task, () -> executor.breed(population))) {
+                                //unchanged parents are not inserted again
+                                if (child.getAssessedIndividual().isPresent()) {
+                                    continue;
+                                }
+                                IndividualWithAssignedFitness<V, T, K> offspring = executor.evaluate(0, task, Collections.singletonList(child.getIndividual())).get(0);
+                                executor.withRandom(0, EvolutionStage.REPLACEMENT, task, () -> view.insert(offspring));
+                                if (!reporter.update()) {
+                                    isRunning.set(false);
+                                }
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        isRunning.set(false);
+                        throw e;
+                    }
+                }));
+            }
+            for (Future<?> workerInProgress : workersInProgress) {
+                workerInProgress.get();
+            }
+            return epochStatistics;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isRunning.set(false);
+            throw new IllegalStateException("Steady-state evolution was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker of steady-state evolution failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            executor.finishRun();
+        }
+    }
+
+    /**
+     * Population shared by workers, individual is replaced only if it was not replaced since it was read
+     */
+    private class SharedPopulation extends AbstractList<IndividualWithAssignedFitness<V, T, K>> implements RandomAccess {
+        private final AtomicReferenceArray<IndividualWithAssignedFitness<V, T, K>> individuals;
+
+        private SharedPopulation(List<IndividualWithAssignedFitness<V, T, K>> initialPopulation) {
+            this.individuals = new AtomicReferenceArray<>(initialPopulation.size());
+            for (int i = 0; i < initialPopulation.size(); i++) {
+                individuals.set(i, initialPopulation.get(i));
+            }
+        }
+
+        @Override
+        public IndividualWithAssignedFitness<V, T, K> get(int index) {
+            return individuals.get(index);
+        }
+
+        @Override
+        public int size() {
+            return individuals.length();
+        }
+
+        private boolean replace(int index, IndividualWithAssignedFitness<V, T, K> expected, IndividualWithAssignedFitness<V, T, K> individual) {
+            return individuals.compareAndSet(index, expected, individual);
+        }
+    }
+
+    /**
+     * Shared population as seen by single worker, it remembers individuals read by replacement strategy
+     */
+    private class PopulationView extends AbstractList<IndividualWithAssignedFitness<V, T, K>> implements RandomAccess {
+        private final SharedPopulation population;
+        private final List<IndividualWithAssignedFitness<V, T, K>> seen;
+        //slot was read in the current attempt to insert when its stamp equals the attempt
+        private final int[] stamps;
+        private int attempt = 0;
+
+        private PopulationView(SharedPopulation population) {
+            this.population = population;
+            this.seen = new ArrayList<>(Collections.nCopies(population.size(), null));
+            this.stamps = new int[population.size()];
+        }
+
+        @Override
+        public IndividualWithAssignedFitness<V, T, K> get(int index) {
+            IndividualWithAssignedFitness<V, T, K> individual = population.get(index);
+            seen.set(index, individual);
+            stamps[index] = attempt;
+            return individual;
+        }
+
+        @Override
+        public int size() {
+            return population.size();
+        }
+
+        /**
+         * Replaces individual selected by replacement strategy. When another worker replaced it in the meantime, the
+         * slot is selected again
+         *
+         * @return false when offspring was discarded
+         */
+        private boolean insert(IndividualWithAssignedFitness<V, T, K> offspring) {
+            while (true) {
+                attempt++;
+                int index = replacement.indexToReplace(this, offspring);
+                if (index < 0) {
+                    return false;
+                }
+                IndividualWithAssignedFitness<V, T, K> replaced = stamps[index] == attempt ? seen.get(index) : get(index);
+                if (population.replace(index, replaced, offspring)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates statistics when enough evaluations was made since the last report. Reports are created in order by
+     * whichever worker gets to them first.
+     */
+    private class Reporter {
+        private final EvolutionExecutor<V, T, K, L> executor;
+        private final EpochHistory<L> epochStatistics;
+        private final SharedPopulation population;
+        private int reports = 0;
+        private long reportedEvaluations;
+        private volatile long nextReport;
+        private long startOfReport = System.currentTimeMillis();
+        private volatile boolean shouldContinue = true;
+
+        private Reporter(EvolutionExecutor<V, T, K, L> executor, EpochHistory<L> epochStatistics, SharedPopulation population) {
+            this.executor = executor;
+            this.epochStatistics = epochStatistics;
+            this.population = population;
+            this.reportedEvaluations = executor.getCountOfEvaluations();
+            this.nextReport = reportedEvaluations + evaluationsPerReport;
+        }
+
+        /**
+         * @return false when evolution should terminate
+         */
+        private boolean update() {
+            if (executor.getCountOfEvaluations() >= nextReport) {
+                synchronized (this) {
+                    long evaluations = executor.getCountOfEvaluations();
+                    if (shouldContinue && evaluations >= nextReport) {
+                        reports++;
+                        List<IndividualWithAssignedFitness<V, T, K>> snapshot = new ArrayList<>(population);
+                        executor.measureDiversity(snapshot);
+                        executor.recordEpoch(epochStatistics, executor.createNewStatistics(reports, startOfReport, (int) (evaluations - reportedEvaluations), snapshot));
+                        logger.info(() -> epochStatistics.getLatest().getSummary());
+                        reportedEvaluations = evaluations;
+                        nextReport = evaluations + evaluationsPerReport;
+                        startOfReport = System.currentTimeMillis();
+                        shouldContinue = executor.shouldContinue(epochStatistics);
+                    }
+                }
+            }
+            return shouldContinue;
+        }
+    }
+}
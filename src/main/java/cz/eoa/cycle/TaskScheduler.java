@@ -0,0 +1,118 @@
+package cz.eoa.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Runs stage of evolutionary cycle on configured executor service. Items are split to chunks, each chunk is executed
+ * as single task. Order of results always corresponds to order of items.
+ */
+public class TaskScheduler {
+    private final static Logger logger = Logger.getLogger(TaskScheduler.class.getName());
+    private final ExecutorService executorService;
+    private final boolean isParallel;
+    private final int chunkSize;
+
+    /**
+     * Tasks are forked within ForkJoinPool, so stages may be scheduled from its own workers. Other executors are
+     * waited for by calling thread, evolution must not be run by worker of bounded executor it schedules stages on,
+     * it deadlocks once all workers wait for tasks queued behind them.
+     *
+     * @param executorService to run tasks on, common ForkJoinPool is used when it is null
+     * @param isParallel      when false, all items are processed sequentially by calling thread
+     * @param chunkSize       number of items in single task, 0 means to derive it from parallelism of executor
+     */
+    public TaskScheduler(ExecutorService executorService, boolean isParallel, int chunkSize) {
+        this.executorService = executorService == null ? ForkJoinPool.commonPool() : executorService;
+        this.isParallel = isParallel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Executor which starts new virtual thread for each task. Runtimes without virtual threads get empty optional
+     */
+    public static Optional<ExecutorService> virtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException e) {
+            logger.warning("Virtual threads are not supported by this runtime");
+            return Optional.empty();
+        }
+    }
+
+    public <A, B> List<B> map(List<A> items, Function<A, B> function) {
+        return generate(items.size(), index -> function.apply(items.get(index)));
+    }
+
+    public <B> List<B> generate(int count, IntFunction<B> function) {
+        int size = chunkSize > 0 ? chunkSize : Math.max(1, count / (parallelism() * 4));
+        if (!isParallel || count <= size) {
+            List<B> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(function.apply(i));
+            }
+            return results;
+        }
+
+        List<Callable<List<B>>> chunks = new ArrayList<>((count + size - 1) / size);
+        for (int from = 0; from < count; from = from + size) {
+            int chunkStart = from, chunkEnd = Math.min(count, from + size);
+            chunks.add(() -> {
+                List<B> results = new ArrayList<>(chunkEnd - chunkStart);
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    results.add(function.apply(i));
+                }
+                return results;
+            });
+        }
+        List<B> results = new ArrayList<>(count);
+        for (List<B> chunkResults : execute(chunks)) {
+            results.addAll(chunkResults);
+        }
+        return results;
+    }
+
+    private <B> List<B> execute(List<Callable<B>> tasks) {
+        try {
+            if (executorService instanceof ForkJoinPool) {
+                //fork tasks from a single task, so it also works when called from worker of the same pool
+                List<ForkJoinTask<B>> forkJoinTasks = new ArrayList<>(tasks.size());
+                for (Callable<B> task : tasks) {
+                    forkJoinTasks.add(ForkJoinTask.adapt(task));
+                }
+                ((ForkJoinPool) executorService).invoke(ForkJoinTask.adapt((Runnable) () -> ForkJoinTask.invokeAll(forkJoinTasks)));
+                List<B> results = new ArrayList<>(tasks.size());
+                for (ForkJoinTask<B> forkJoinTask : forkJoinTasks) {
+                    results.add(forkJoinTask.join());
+                }
+                return results;
+            }
+            List<B> results = new ArrayList<>(tasks.size());
+            for (Future<B> future : executorService.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Execution of tasks was interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+    }
+
+    int parallelism() {
+        if (executorService instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executorService).getParallelism();
+        }
+        if (executorService instanceof ThreadPoolExecutor) {
+            int corePoolSize = ((ThreadPoolExecutor) executorService).getCorePoolSize();
+            return corePoolSize > 0 ? corePoolSize : Runtime.getRuntime().availableProcessors();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
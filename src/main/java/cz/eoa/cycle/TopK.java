@@ -0,0 +1,47 @@
+package cz.eoa.cycle;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Selects k best items by bounded heap in O(n log k). Selected items are copied to new list sorted from the best one.
+ */
+@Getter
+public class TopK<E> {
+    private final List<E> items;
+
+    private TopK(List<E> items) {
+        this.items = items;
+    }
+
+    /**
+     * @param comparator greater item is the better one
+     */
+    public static <E> TopK<E> of(Collection<E> items, int k, Comparator<? super E> comparator) {
+        if (k <= 0 || items.isEmpty()) {
+            return new TopK<>(new ArrayList<>());
+        }
+        //the worst of selected items is on the top of heap
+        PriorityQueue<E> heap = new PriorityQueue<>(Math.min(k, items.size()) + 1, comparator);
+        for (E item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<E> selected = new ArrayList<>(heap);
+        selected.sort(Collections.reverseOrder(comparator));
+        return new TopK<>(selected);
+    }
+
+    public E getBest() {
+        return items.get(0);
+    }
+
+    public E getWorst() {
+        return items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,49 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.MutatedIndividual;
+import cz.eoa.templates.operations.MutationStrategy;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Flips each bit independently with given probability. Instead of drawing random number for each bit, distance to the
+ * next flipped bit is sampled from geometric distribution, so only flipped bits cost anything.
+ * When no bit is flipped, the same individual is returned. Flipped bits are reported by {@link MutatedIndividual}.
+ */
+public class BitFlipMutation<T> implements MutationStrategy<BitString, T> {
+    private final GeometricSkip skip;
+
+    public BitFlipMutation(double probabilityOfFlip) {
+        this.skip = new GeometricSkip(probabilityOfFlip);
+    }
+
+    @Override
+    public Optional<Individual<BitString, T>> mutation(Individual<BitString, T> individual) {
+        BitString genes = individual.getGenes();
+        if (skip.isNothingFlipped()) {
+            return Optional.of(individual);
+        }
+        SplittableRandom random = EvolutionContext.random();
+        long[] words = null;
+        int[] flippedBits = null;
+        int countOfFlippedBits = 0;
+        for (long position = skip.next(random); position < genes.length(); position = position + 1 + skip.next(random)) {
+            if (words == null) {
+                words = genes.words().clone();
+                flippedBits = new int[4];
+            } else if (countOfFlippedBits == flippedBits.length) {
+                flippedBits = Arrays.copyOf(flippedBits, 2 * countOfFlippedBits);
+            }
+            words[(int) (position >>> 6)] ^= 1L << position;
+            flippedBits[countOfFlippedBits++] = (int) position;
+        }
+        if (words == null) {
+            return Optional.of(individual);
+        }
+        return Optional.of(new MutatedIndividual<>(new BitString(words, genes.length()), Arrays.copyOf(flippedBits, countOfFlippedBits)));
+    }
+}
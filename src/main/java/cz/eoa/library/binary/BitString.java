@@ -0,0 +1,141 @@
+package cz.eoa.library.binary;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable string of bits packed to words of long. Bit with index i is stored in word i / 64 at position i % 64.
+ * Unused bits of the last word are always zero, so strings are compared by content of words.
+ */
+public final class BitString {
+    private final long[] words;
+    private final int length;
+
+    //takes ownership of words
+    BitString(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    public static BitString zeros(int length) {
+        return new BitString(new long[wordsFor(length)], length);
+    }
+
+    public static BitString random(int length, SplittableRandom random) {
+        long[] words = new long[wordsFor(length)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = random.nextLong();
+        }
+        clearUnusedBits(words, length);
+        return new BitString(words, length);
+    }
+
+    public static BitString of(boolean... bits) {
+        long[] words = new long[wordsFor(bits.length)];
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i]) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return new BitString(words, bits.length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns 'count' bits (at most 64) starting at index 'from' as number, bit 'from' is the least significant one
+     */
+    public long getBits(int from, int count) {
+        if (count < 1 || count > 64 || from < 0 || from + count > length) {
+            throw new IndexOutOfBoundsException("Bits from " + from + " of count " + count + " are out of string of length " + length);
+        }
+        int word = from >>> 6, offset = from & 63;
+        long value = words[word] >>> offset;
+        if (offset + count > 64) {
+            value |= words[word + 1] << (64 - offset);
+        }
+        return count == 64 ? value : value & ((1L << count) - 1);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count = count + Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int hammingDistance(BitString other) {
+        if (other.length != length) {
+            throw new IllegalArgumentException("Strings have different length: " + length + " and " + other.length);
+        }
+        int distance = 0;
+        for (int i = 0; i < words.length; i++) {
+            distance = distance + Long.bitCount(words[i] ^ other.words[i]);
+        }
+        return distance;
+    }
+
+    public BitString flip(int... indexes) {
+        long[] flipped = words.clone();
+        for (int index : indexes) {
+            checkIndex(index);
+            flipped[index >>> 6] ^= 1L << index;
+        }
+        return new BitString(flipped, length);
+    }
+
+    //not copied, callers must not modify it
+    long[] words() {
+        return words;
+    }
+
+    static int wordsFor(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    static void clearUnusedBits(long[] words, int length) {
+        if ((length & 63) != 0) {
+            words[words.length - 1] &= (1L << length) - 1;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of string of length " + length);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BitString)) {
+            return false;
+        }
+        BitString other = (BitString) obj;
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((words[i >>> 6] & (1L << i)) != 0 ? '1' : '0');
+        }
+        return builder.toString();
+    }
+}
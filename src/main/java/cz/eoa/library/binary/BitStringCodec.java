@@ -0,0 +1,36 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.operations.BinaryCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes bit string as its length followed by its words
+ */
+public class BitStringCodec implements BinaryCodec<BitString> {
+
+    @Override
+    public int sizeOf(BitString value) {
+        return Integer.BYTES + Long.BYTES * value.words().length;
+    }
+
+    @Override
+    public void write(BitString value, ByteBuffer buffer) {
+        long[] words = value.words();
+        buffer.putInt(value.length());
+        buffer.asLongBuffer().put(words);
+        buffer.position(buffer.position() + Long.BYTES * words.length);
+    }
+
+    @Override
+    public BitString read(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new IllegalStateException("Length of bit string can not be negative, data are corrupt");
+        }
+        long[] words = new long[BinaryCodec.checkLength((length + 63) >>> 6, Long.BYTES, buffer)];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + Long.BYTES * words.length);
+        return new BitString(words, length);
+    }
+}
@@ -0,0 +1,86 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.operations.CrossoverStrategy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Crossover of bit strings operating on whole words. For each word a mask is created, bits set in mask are inherited
+ * by the first child from the first parent and by the second child from the second parent, the rest is swapped.
+ */
+public class BitStringCrossover<T> implements CrossoverStrategy<BitString, T> {
+    private final MaskType maskType;
+
+    private BitStringCrossover(MaskType maskType) {
+        this.maskType = maskType;
+    }
+
+    /**
+     * Each bit is inherited from either parent with the same probability
+     */
+    public static <T> BitStringCrossover<T> uniform() {
+        return new BitStringCrossover<>(MaskType.UNIFORM);
+    }
+
+    /**
+     * Bits before random point are inherited from one parent, the rest from the other one
+     */
+    public static <T> BitStringCrossover<T> onePoint() {
+        return new BitStringCrossover<>(MaskType.ONE_POINT);
+    }
+
+    /**
+     * Bits between two random points are inherited from one parent, the rest from the other one
+     */
+    public static <T> BitStringCrossover<T> twoPoint() {
+        return new BitStringCrossover<>(MaskType.TWO_POINT);
+    }
+
+    @Override
+    public List<Individual<BitString, T>> crossover(Individual<BitString, T> firstParent, Individual<BitString, T> secondParent) {
+        BitString first = firstParent.getGenes(), second = secondParent.getGenes();
+        if (first.length() != second.length()) {
+            throw new IllegalArgumentException("Parents have different length: " + first.length() + " and " + second.length());
+        }
+        SplittableRandom random = EvolutionContext.random();
+        int from = 0, to = first.length();
+        if (maskType == MaskType.ONE_POINT) {
+            to = random.nextInt(first.length() + 1);
+        } else if (maskType == MaskType.TWO_POINT) {
+            int a = random.nextInt(first.length() + 1), b = random.nextInt(first.length() + 1);
+            from = Math.min(a, b);
+            to = Math.max(a, b);
+        }
+
+        long[] firstWords = first.words(), secondWords = second.words();
+        long[] firstChild = new long[firstWords.length], secondChild = new long[firstWords.length];
+        for (int i = 0; i < firstWords.length; i++) {
+            long mask = maskType == MaskType.UNIFORM ? random.nextLong() : prefixMask(i, to) & ~prefixMask(i, from);
+            firstChild[i] = (firstWords[i] & mask) | (secondWords[i] & ~mask);
+            secondChild[i] = (secondWords[i] & mask) | (firstWords[i] & ~mask);
+        }
+        return Arrays.asList(new Individual<>(new BitString(firstChild, first.length())), new Individual<>(new BitString(secondChild, first.length())));
+    }
+
+    /**
+     * Mask of bits of given word which have index lower than 'point'
+     */
+    private static long prefixMask(int word, int point) {
+        int start = word << 6;
+        if (point >= start + 64) {
+            return -1L;
+        }
+        if (point <= start) {
+            return 0L;
+        }
+        return (1L << (point - start)) - 1;
+    }
+
+    private enum MaskType {
+        UNIFORM, ONE_POINT, TWO_POINT
+    }
+}
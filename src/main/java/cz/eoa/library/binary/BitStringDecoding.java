@@ -0,0 +1,68 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.operations.DecodingStrategy;
+
+/**
+ * Decodings of bit strings to numbers. String is split to consecutive variables of the same number of bits,
+ * the first bit of variable is the least significant one.
+ */
+public final class BitStringDecoding {
+
+    private BitStringDecoding() {
+    }
+
+    /**
+     * Whole string (at most 63 bits) is decoded as one real number from [min, max]
+     */
+    public static DecodingStrategy<BitString, Double> toReal(double min, double max) {
+        return genes -> {
+            checkBits(genes.length());
+            return scale(genes.getBits(0, genes.length()), genes.length(), min, max);
+        };
+    }
+
+    /**
+     * Each 'bitsPerVariable' bits are decoded to real number from [min, max]
+     */
+    public static DecodingStrategy<BitString, double[]> toReals(int bitsPerVariable, double min, double max) {
+        checkBits(bitsPerVariable);
+        return genes -> {
+            double[] values = new double[countOfVariables(genes, bitsPerVariable)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = scale(genes.getBits(i * bitsPerVariable, bitsPerVariable), bitsPerVariable, min, max);
+            }
+            return values;
+        };
+    }
+
+    /**
+     * Each 'bitsPerVariable' bits are decoded to integer from [min, min + 2^bitsPerVariable - 1]
+     */
+    public static DecodingStrategy<BitString, long[]> toIntegers(int bitsPerVariable, long min) {
+        checkBits(bitsPerVariable);
+        return genes -> {
+            long[] values = new long[countOfVariables(genes, bitsPerVariable)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = min + genes.getBits(i * bitsPerVariable, bitsPerVariable);
+            }
+            return values;
+        };
+    }
+
+    private static double scale(long value, int bits, double min, double max) {
+        return min + (value / (Math.pow(2.0, bits) - 1.0)) * (max - min);
+    }
+
+    private static int countOfVariables(BitString genes, int bitsPerVariable) {
+        if (genes.length() % bitsPerVariable != 0) {
+            throw new IllegalArgumentException("Length of string " + genes.length() + " is not multiple of " + bitsPerVariable);
+        }
+        return genes.length() / bitsPerVariable;
+    }
+
+    private static void checkBits(int bits) {
+        if (bits < 1 || bits > 63) {
+            throw new IllegalArgumentException("Variable has to be coded by 1 to 63 bits, got " + bits);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.operations.PopulationInitializationStrategy;
+import lombok.AllArgsConstructor;
+
+/**
+ * Initializes individuals with uniformly random bits
+ */
+@AllArgsConstructor
+public class BitStringInitialization<T> implements PopulationInitializationStrategy<BitString, T> {
+    private final int length;
+
+    @Override
+    public Individual<BitString, T> initialize() {
+        return new Individual<>(BitString.random(length, EvolutionContext.random()));
+    }
+}
@@ -0,0 +1,34 @@
+package cz.eoa.library.binary;
+
+import java.util.SplittableRandom;
+
+/**
+ * Samples number of bits kept before the next flipped one when each bit is flipped independently with given
+ * probability. The number follows geometric distribution, so only flipped bits cost random number.
+ */
+final class GeometricSkip {
+    private final double probabilityOfFlip;
+    private final double logOfProbabilityToKeep;
+
+    GeometricSkip(double probabilityOfFlip) {
+        if (probabilityOfFlip < 0 || probabilityOfFlip > 1) {
+            throw new IllegalArgumentException("Probability has to be in [0, 1], got " + probabilityOfFlip);
+        }
+        this.probabilityOfFlip = probabilityOfFlip;
+        this.logOfProbabilityToKeep = Math.log1p(-probabilityOfFlip);
+    }
+
+    boolean isNothingFlipped() {
+        return probabilityOfFlip == 0;
+    }
+
+    /**
+     * Number of bits to keep before next flip
+     */
+    long next(SplittableRandom random) {
+        if (probabilityOfFlip == 1) {
+            return 0;
+        }
+        return (long) Math.min(Integer.MAX_VALUE, Math.floor(Math.log(1.0 - random.nextDouble()) / logOfProbabilityToKeep));
+    }
+}
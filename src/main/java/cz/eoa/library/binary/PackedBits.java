@@ -0,0 +1,82 @@
+package cz.eoa.library.binary;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.operations.InPlaceCrossoverStrategy;
+import cz.eoa.templates.operations.InPlaceFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.InPlaceInitializationStrategy;
+import cz.eoa.templates.operations.InPlaceMutationStrategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * In place operators for strings of bits stored in arena of long[] in the same layout as {@link BitString} - bit with
+ * index i is in word i / 64 of genome at position i % 64, unused bits of the last word are zero. Genome of 'bits'
+ * bits has {@link #wordsFor(int)} genes.
+ */
+public final class PackedBits {
+
+    private PackedBits() {
+    }
+
+    public static int wordsFor(int bits) {
+        return BitString.wordsFor(bits);
+    }
+
+    public static InPlaceInitializationStrategy<long[]> random(int bits) {
+        return (genes, offset, length) -> {
+            SplittableRandom random = EvolutionContext.random();
+            for (int i = 0; i < length; i++) {
+                genes[offset + i] = random.nextLong();
+            }
+            genes[offset + length - 1] &= lastWordMask(bits);
+        };
+    }
+
+    /**
+     * Each bit of children is inherited from either parent with the same probability
+     */
+    public static InPlaceCrossoverStrategy<long[]> uniformCrossover() {
+        return (parents, firstParent, secondParent, offspring, firstChild, secondChild, length) -> {
+            SplittableRandom random = EvolutionContext.random();
+            for (int i = 0; i < length; i++) {
+                long mask = random.nextLong(), first = parents[firstParent + i], second = parents[secondParent + i];
+                offspring[firstChild + i] = (first & mask) | (second & ~mask);
+                offspring[secondChild + i] = (second & mask) | (first & ~mask);
+            }
+        };
+    }
+
+    /**
+     * Flips each bit independently with given probability, distance to the next flipped bit is sampled from geometric
+     * distribution as in {@link BitFlipMutation}
+     */
+    public static InPlaceMutationStrategy<long[]> bitFlip(double probabilityOfFlip, int bits) {
+        GeometricSkip skip = new GeometricSkip(probabilityOfFlip);
+        return (genes, offset, length) -> {
+            if (skip.isNothingFlipped()) {
+                return false;
+            }
+            SplittableRandom random = EvolutionContext.random();
+            boolean isChanged = false;
+            for (long position = skip.next(random); position < bits; position = position + 1 + skip.next(random)) {
+                genes[offset + (int) (position >>> 6)] ^= 1L << position;
+                isChanged = true;
+            }
+            return isChanged;
+        };
+    }
+
+    public static InPlaceFitnessAssessmentStrategy<long[]> cardinality() {
+        return (genes, offset, length) -> {
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                count = count + Long.bitCount(genes[offset + i]);
+            }
+            return count;
+        };
+    }
+
+    private static long lastWordMask(int bits) {
+        return (bits & 63) == 0 ? -1L : (1L << bits) - 1;
+    }
+}
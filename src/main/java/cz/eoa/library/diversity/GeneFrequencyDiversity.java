@@ -0,0 +1,74 @@
+package cz.eoa.library.diversity;
+
+import cz.eoa.library.binary.BitString;
+import cz.eoa.templates.operations.DiversityMeasure;
+
+/**
+ * Diversity of discrete genomes of fixed length. Frequency of each value of each gene is counted, diversity is mean
+ * entropy of genes normalized to [0, 1]. Adding and removing individual costs O(length), diversity is computed in
+ * O(length * count of values)
+ */
+public class GeneFrequencyDiversity<V> implements DiversityMeasure<V> {
+    private final int length;
+    private final int countOfValues;
+    private final GeneValues<V> geneValues;
+    //count of individuals with given value of gene, values of gene are next to each other
+    private final int[] counts;
+    private int size = 0;
+
+    /**
+     * @param geneValues value of gene at position, it has to be in [0, countOfValues)
+     */
+    public GeneFrequencyDiversity(int length, int countOfValues, GeneValues<V> geneValues) {
+        if (countOfValues < 2) {
+            throw new IllegalArgumentException("Gene has to have at least two values");
+        }
+        this.length = length;
+        this.countOfValues = countOfValues;
+        this.geneValues = geneValues;
+        this.counts = new int[length * countOfValues];
+    }
+
+    public static GeneFrequencyDiversity<BitString> bits(int length) {
+        return new GeneFrequencyDiversity<>(length, 2, (genes, position) -> genes.get(position) ? 1 : 0);
+    }
+
+    public static GeneFrequencyDiversity<int[]> integers(int length, int countOfValues) {
+        return new GeneFrequencyDiversity<>(length, countOfValues, (genes, position) -> genes[position]);
+    }
+
+    @Override
+    public void add(V genes) {
+        for (int position = 0; position < length; position++) {
+            counts[position * countOfValues + geneValues.get(genes, position)]++;
+        }
+        size++;
+    }
+
+    @Override
+    public void remove(V genes) {
+        for (int position = 0; position < length; position++) {
+            counts[position * countOfValues + geneValues.get(genes, position)]--;
+        }
+        size--;
+    }
+
+    @Override
+    public double diversity() {
+        if (size == 0 || length == 0) {
+            return 0;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double frequency = (double) count / size;
+                entropy = entropy - frequency * Math.log(frequency);
+            }
+        }
+        return entropy / (length * Math.log(countOfValues));
+    }
+
+    public interface GeneValues<V> {
+        int get(V genes, int position);
+    }
+}
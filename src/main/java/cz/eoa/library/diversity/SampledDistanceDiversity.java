@@ -0,0 +1,72 @@
+package cz.eoa.library.diversity;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.operations.DiversityMeasure;
+import cz.eoa.templates.operations.GenesDistance;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Diversity of genomes with distance, for example real vectors. Diversity is mean distance of given number of randomly
+ * sampled pairs of individuals, so it costs the same regardless of size of population. Members are kept in list with
+ * index of their position, so they are added and removed in constant time
+ */
+public class SampledDistanceDiversity<V> implements DiversityMeasure<V> {
+    private final GenesDistance<V> distance;
+    private final int countOfPairs;
+    private final List<V> members = new ArrayList<>();
+    //positions of genes in list of members, the same genes may be there more times
+    private final Map<V, List<Integer>> positions = new IdentityHashMap<>();
+
+    public SampledDistanceDiversity(GenesDistance<V> distance, int countOfPairs) {
+        if (countOfPairs < 1) {
+            throw new IllegalArgumentException("At least one pair has to be sampled");
+        }
+        this.distance = distance;
+        this.countOfPairs = countOfPairs;
+    }
+
+    @Override
+    public void add(V genes) {
+        positions.computeIfAbsent(genes, key -> new ArrayList<>(1)).add(members.size());
+        members.add(genes);
+    }
+
+    @Override
+    public void remove(V genes) {
+        List<Integer> positionsOfGenes = positions.get(genes);
+        if (positionsOfGenes == null) {
+            throw new IllegalArgumentException("Genes are not member of population");
+        }
+        int position = positionsOfGenes.remove(positionsOfGenes.size() - 1), last = members.size() - 1;
+        if (positionsOfGenes.isEmpty()) {
+            positions.remove(genes);
+        }
+        //the last member takes place of removed one
+        if (position != last) {
+            V lastGenes = members.get(last);
+            List<Integer> positionsOfLast = positions.get(lastGenes);
+            positionsOfLast.set(positionsOfLast.indexOf(last), position);
+            members.set(position, lastGenes);
+        }
+        members.remove(last);
+    }
+
+    @Override
+    public double diversity() {
+        if (members.size() < 2) {
+            return 0;
+        }
+        SplittableRandom random = EvolutionContext.random();
+        double sum = 0;
+        for (int i = 0; i < countOfPairs; i++) {
+            int first = random.nextInt(members.size()), second = random.nextInt(members.size() - 1);
+            sum = sum + distance.distance(members.get(first), members.get(second >= first ? second + 1 : second));
+        }
+        return sum / countOfPairs;
+    }
+}
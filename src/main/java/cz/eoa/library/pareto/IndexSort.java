@@ -0,0 +1,36 @@
+package cz.eoa.library.pareto;
+
+/**
+ * Stable merge sort of indexes of items by given order, so indexes do not have to be boxed
+ */
+final class IndexSort {
+
+    private IndexSort() {
+    }
+
+    interface IndexComparator {
+        int compare(int first, int second);
+    }
+
+    static int[] sortedIndexes(int count, IndexComparator comparator) {
+        int[] indexes = new int[count], buffer = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = i;
+        }
+        for (int width = 1; width < count; width = 2 * width) {
+            for (int from = 0; from < count; from = from + 2 * width) {
+                int middle = Math.min(count, from + width), to = Math.min(count, from + 2 * width);
+                int left = from, right = middle, position = from;
+                while (left < middle && right < to) {
+                    buffer[position++] = comparator.compare(indexes[right], indexes[left]) < 0 ? indexes[right++] : indexes[left++];
+                }
+                System.arraycopy(indexes, left, buffer, position, middle - left);
+                System.arraycopy(indexes, right, buffer, position + middle - left, to - right);
+            }
+            int[] sorted = buffer;
+            buffer = indexes;
+            indexes = sorted;
+        }
+        return indexes;
+    }
+}
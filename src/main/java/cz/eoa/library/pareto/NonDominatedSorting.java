@@ -0,0 +1,304 @@
+package cz.eoa.library.pareto;
+
+import cz.eoa.cycle.TaskScheduler;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.FitnessTweakingStrategy;
+import cz.eoa.templates.operations.IndividualFitnessUpdater;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * NSGA-II ranking of population with {@link ParetoFitness}. Fitness of each individual is tweaked to rank of its
+ * non-dominated front and its crowding distance. Use it with (mu + lambda) replacement, so parents and offspring are
+ * ranked together and the best of them by crowded comparison survive.
+ * Individuals are sorted by each objective first, in parallel on scheduler of the run. Fronts of two objectives are then found by single
+ * sweep with binary search in O(N log N), fronts of more objectives by best order sort. Crowding distance is computed
+ * from the same orders, objectives are normalized by their range in population.
+ */
+public class NonDominatedSorting<V, T> implements FitnessTweakingStrategy<V, T, ParetoFitness> {
+    //sorts objectives one by one outside of run
+    private static final TaskScheduler SEQUENTIAL = new TaskScheduler(null, false, 1);
+
+    @Override
+    public IndividualFitnessUpdater<V, T, ParetoFitness> getIndividualUpdater(List<IndividualWithAssignedFitness<V, T, ParetoFitness>> population) {
+        return getIndividualUpdater(population, SEQUENTIAL);
+    }
+
+    @Override
+    public IndividualFitnessUpdater<V, T, ParetoFitness> getIndividualUpdater(List<IndividualWithAssignedFitness<V, T, ParetoFitness>> population, TaskScheduler scheduler) {
+        double[][] objectives = new double[population.size()][];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = population.get(i).getFitness().getObjectives();
+        }
+        Ranking ranking = sort(objectives, scheduler);
+
+        return new IndividualFitnessUpdater<V, T, ParetoFitness>() {
+            @Override
+            public ParetoFitness computeNewFitness(IndividualWithAssignedFitness<V, T, ParetoFitness> individualToRecomputeFitness,
+                                                   List<IndividualWithAssignedFitness<V, T, ParetoFitness>> restOfPopulation) {
+                for (int i = 0; i < population.size(); i++) {
+                    if (population.get(i) == individualToRecomputeFitness) {
+                        return computeNewFitness(i, population);
+                    }
+                }
+                throw new IllegalArgumentException("Individual is not part of population the updater was created for");
+            }
+
+            @Override
+            public ParetoFitness computeNewFitness(int individualsIndex, List<IndividualWithAssignedFitness<V, T, ParetoFitness>> population) {
+                return population.get(individualsIndex).getFitness().ranked(ranking.getRank(individualsIndex), ranking.getCrowdingDistance(individualsIndex));
+            }
+        };
+    }
+
+    /**
+     * Individuals of ranked population in the first (non-dominated) front
+     */
+    public static <V, T> List<IndividualWithAssignedFitness<V, T, ParetoFitness>> firstFront(List<IndividualWithAssignedFitness<V, T, ParetoFitness>> population) {
+        return population.stream()
+                .filter(individual -> individual.getFitness().getRank() == 0)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ranks vectors of objectives, all of them have to have the same number of objectives
+     */
+    public Ranking sort(double[][] objectives) {
+        return sort(objectives, SEQUENTIAL);
+    }
+
+    /**
+     * Ranks vectors of objectives, each objective is sorted as single task of scheduler
+     */
+    public Ranking sort(double[][] objectives, TaskScheduler scheduler) {
+        int count = objectives.length, countOfObjectives = count == 0 ? 0 : objectives[0].length;
+        for (double[] objectivesOfIndividual : objectives) {
+            if (objectivesOfIndividual.length != countOfObjectives) {
+                throw new IllegalArgumentException("All individuals have to have the same number of objectives");
+            }
+        }
+        //objectives of all individuals in single array, objectives of individual are next to each other
+        Objectives values = new Objectives(count, countOfObjectives);
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(objectives[i], 0, values.values, i * countOfObjectives, countOfObjectives);
+        }
+        //order by objective, ties are broken lexicographically, so anything dominating individual is before it in all orders
+        List<int[]> orders = scheduler.generate(countOfObjectives, objective -> IndexSort.sortedIndexes(count, (first, second) -> {
+            int comparison = Double.compare(values.get(first, objective), values.get(second, objective));
+            return comparison != 0 ? comparison : values.compareLexicographically(first, second);
+        }));
+        int[] ranks = countOfObjectives == 2 ? sweep(values, orders.get(0)) : bestOrderSort(values, orders);
+        return new Ranking(ranks, crowdingDistances(values, orders, ranks, scheduler));
+    }
+
+    /**
+     * Fronts of two objectives. Individuals are visited in lexicographic order, so only the individuals already
+     * visited may dominate the current one. Of each front, it is enough to check its last individual - the one with
+     * the lowest second objective. Fronts dominating individual form prefix of all fronts, the first front which does
+     * not dominate it is found by binary search.
+     */
+    private static int[] sweep(Objectives objectives, int[] lexicographicOrder) {
+        int[] ranks = new int[objectives.count], lastOfFront = new int[objectives.count];
+        int countOfFronts = 0;
+        for (int individual : lexicographicOrder) {
+            int low = 0, high = countOfFronts;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (objectives.dominates(lastOfFront[middle], individual)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            ranks[individual] = low;
+            lastOfFront[low] = individual;
+            if (low == countOfFronts) {
+                countOfFronts++;
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Best order sort. Individuals are visited by positions in orders of all objectives, individual is ranked when it
+     * is visited for the first time. All individuals dominating it are already visited in that order, so it is compared
+     * only to individuals before it in the order. As fronts dominating individual form prefix of all fronts, the first
+     * front without dominating individual is found by binary search.
+     */
+    private static int[] bestOrderSort(Objectives objectives, List<int[]> orders) {
+        int count = objectives.count, countOfObjectives = orders.size(), countOfRanked = 0;
+        int[] ranks = new int[count];
+        boolean[] isRanked = new boolean[count];
+        //visited individuals of each front by objective
+        List<List<IndexList>> fronts = new ArrayList<>(countOfObjectives);
+        for (int objective = 0; objective < countOfObjectives; objective++) {
+            fronts.add(new ArrayList<>());
+        }
+        for (int position = 0; position < count && countOfRanked < count; position++) {
+            for (int objective = 0; objective < countOfObjectives; objective++) {
+                int individual = orders.get(objective)[position];
+                List<IndexList> frontsOfObjective = fronts.get(objective);
+                if (!isRanked[individual]) {
+                    int rank = 0, high = frontsOfObjective.size();
+                    while (rank < high) {
+                        int middle = (rank + high) >>> 1;
+                        if (frontsOfObjective.get(middle).anyDominates(objectives, individual)) {
+                            rank = middle + 1;
+                        } else {
+                            high = middle;
+                        }
+                    }
+                    if (rank == frontsOfObjective.size()) {
+                        for (List<IndexList> frontsOfAnyObjective : fronts) {
+                            frontsOfAnyObjective.add(new IndexList());
+                        }
+                    }
+                    ranks[individual] = rank;
+                    isRanked[individual] = true;
+                    countOfRanked++;
+                }
+                frontsOfObjective.get(ranks[individual]).add(individual);
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Individuals of each front are taken from order of each objective by stable counting sort of ranks, so fronts
+     * are not sorted again
+     */
+    private static double[] crowdingDistances(Objectives objectives, List<int[]> orders, int[] ranks, TaskScheduler scheduler) {
+        int count = objectives.count, countOfFronts = Arrays.stream(ranks).max().orElse(-1) + 1;
+        int[] startOfFront = new int[countOfFronts + 1];
+        for (int rank : ranks) {
+            startOfFront[rank + 1]++;
+        }
+        for (int rank = 0; rank < countOfFronts; rank++) {
+            startOfFront[rank + 1] = startOfFront[rank + 1] + startOfFront[rank];
+        }
+        List<double[]> distancesByObjective = scheduler.generate(orders.size(), objective -> {
+            int[] order = orders.get(objective), byFronts = new int[count], nextOfFront = Arrays.copyOf(startOfFront, countOfFronts);
+            for (int individual : order) {
+                byFronts[nextOfFront[ranks[individual]]++] = individual;
+            }
+            double range = count == 0 ? 0 : objectives.get(order[count - 1], objective) - objectives.get(order[0], objective);
+            double[] distances = new double[count];
+            for (int rank = 0; rank < countOfFronts; rank++) {
+                int first = startOfFront[rank], last = startOfFront[rank + 1] - 1;
+                distances[byFronts[first]] = Double.POSITIVE_INFINITY;
+                distances[byFronts[last]] = Double.POSITIVE_INFINITY;
+                for (int i = first + 1; i < last && range > 0; i++) {
+                    distances[byFronts[i]] = (objectives.get(byFronts[i + 1], objective) - objectives.get(byFronts[i - 1], objective)) / range;
+                }
+            }
+            return distances;
+        });
+        double[] crowdingDistances = new double[count];
+        for (double[] distances : distancesByObjective) {
+            for (int i = 0; i < count; i++) {
+                crowdingDistances[i] = crowdingDistances[i] + distances[i];
+            }
+        }
+        return crowdingDistances;
+    }
+
+    static boolean dominates(double[] objectives, double[] otherObjectives) {
+        boolean isBetterInAny = false;
+        for (int i = 0; i < objectives.length; i++) {
+            if (objectives[i] > otherObjectives[i]) {
+                return false;
+            }
+            isBetterInAny = isBetterInAny || objectives[i] < otherObjectives[i];
+        }
+        return isBetterInAny;
+    }
+
+    /**
+     * Objectives of all individuals stored in single array, objectives of individual are next to each other
+     */
+    private static class Objectives {
+        private final int count;
+        private final int countOfObjectives;
+        private final double[] values;
+
+        private Objectives(int count, int countOfObjectives) {
+            this.count = count;
+            this.countOfObjectives = countOfObjectives;
+            this.values = new double[count * countOfObjectives];
+        }
+
+        private double get(int individual, int objective) {
+            return values[individual * countOfObjectives + objective];
+        }
+
+        private boolean dominates(int individual, int otherIndividual) {
+            int offset = individual * countOfObjectives, otherOffset = otherIndividual * countOfObjectives;
+            boolean isBetterInAny = false;
+            for (int i = 0; i < countOfObjectives; i++) {
+                if (values[offset + i] > values[otherOffset + i]) {
+                    return false;
+                }
+                isBetterInAny = isBetterInAny || values[offset + i] < values[otherOffset + i];
+            }
+            return isBetterInAny;
+        }
+
+        private int compareLexicographically(int individual, int otherIndividual) {
+            for (int i = 0; i < countOfObjectives; i++) {
+                int comparison = Double.compare(get(individual, i), get(otherIndividual, i));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Rank of front and crowding distance of each individual
+     */
+    public static class Ranking {
+        private final int[] ranks;
+        private final double[] crowdingDistances;
+
+        private Ranking(int[] ranks, double[] crowdingDistances) {
+            this.ranks = ranks;
+            this.crowdingDistances = crowdingDistances;
+        }
+
+        public int getRank(int index) {
+            return ranks[index];
+        }
+
+        public double getCrowdingDistance(int index) {
+            return crowdingDistances[index];
+        }
+    }
+
+    /**
+     * Growable list of indexes of individuals
+     */
+    private static class IndexList {
+        private int[] indexes = new int[8];
+        private int size = 0;
+
+        private void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, 2 * size);
+            }
+            indexes[size++] = index;
+        }
+
+        private boolean anyDominates(Objectives objectives, int individual) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (objectives.dominates(indexes[i], individual)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
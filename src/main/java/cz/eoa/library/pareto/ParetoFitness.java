@@ -0,0 +1,75 @@
+package cz.eoa.library.pareto;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Vector of objectives, all of them are minimized (negate objectives to maximize). Fitness assigned by assessment is
+ * not ranked, {@link NonDominatedSorting} assigns rank of front and crowding distance to it. Ranked fitness is ordered
+ * by crowded comparison - lower rank first, then greater crowding distance - as greater is better, so evolution has
+ * to be configured as maximizing fitness.
+ */
+public final class ParetoFitness implements Comparable<ParetoFitness> {
+    public static final int NOT_RANKED = Integer.MAX_VALUE;
+    private final double[] objectives;
+    //0 is the first (non-dominated) front
+    @Getter
+    private final int rank;
+    @Getter
+    private final double crowdingDistance;
+
+    private ParetoFitness(double[] objectives, int rank, double crowdingDistance) {
+        this.objectives = objectives;
+        this.rank = rank;
+        this.crowdingDistance = crowdingDistance;
+    }
+
+    public static ParetoFitness of(double... objectives) {
+        if (objectives.length == 0) {
+            throw new IllegalArgumentException("At least one objective is required");
+        }
+        return new ParetoFitness(objectives.clone(), NOT_RANKED, 0);
+    }
+
+    ParetoFitness ranked(int rank, double crowdingDistance) {
+        return new ParetoFitness(objectives, rank, crowdingDistance);
+    }
+
+    public int getCountOfObjectives() {
+        return objectives.length;
+    }
+
+    public double getObjective(int objective) {
+        return objectives[objective];
+    }
+
+    public double[] getObjectives() {
+        return objectives.clone();
+    }
+
+    public boolean isRanked() {
+        return rank != NOT_RANKED;
+    }
+
+    /**
+     * True when this fitness is not worse in any objective and better in at least one
+     */
+    public boolean dominates(ParetoFitness other) {
+        return NonDominatedSorting.dominates(objectives, other.objectives);
+    }
+
+    @Override
+    public int compareTo(@NotNull ParetoFitness other) {
+        if (rank != other.rank) {
+            return rank < other.rank ? 1 : -1;
+        }
+        return Double.compare(crowdingDistance, other.crowdingDistance);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(objectives) + (isRanked() ? " (front " + rank + ", crowding distance " + crowdingDistance + ")" : "");
+    }
+}
@@ -0,0 +1,329 @@
+package cz.eoa.library.remote;
+
+import cz.eoa.templates.operations.BatchFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.BinaryCodec;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates solutions on {@link RemoteFitnessWorker}s. Solutions are split to requests of given size, requests are
+ * sent to the least loaded healthy worker without waiting for previous answers, at most 'requestsInFlight' per worker
+ * on average. Workers are checked periodically: request without answer within timeout since worker started to evaluate
+ * it is sent to another worker, request waiting in queue of worker gets timeout multiplied by requests in flight,
+ * worker not answering health check within timeout is disconnected, its requests are sent to other workers and
+ * connection is renewed later. Request failed on all attempts or by error of fitness assessment fails the evaluation.
+ * Timeout has to be longer than evaluation of single request.
+ * To evaluate on workers decoding genes, configure evolution with identity decoding and codec of genes.
+ */
+public class RemoteFitnessAssessmentStrategy<T, K extends Comparable<K>> implements BatchFitnessAssessmentStrategy<T, K>, AutoCloseable {
+    private final static Logger logger = Logger.getLogger(RemoteFitnessAssessmentStrategy.class.getName());
+    private static final int MAXIMAL_ATTEMPTS = 3;
+    private final List<Worker> workers;
+    private final BinaryCodec<T> solutionCodec;
+    private final BinaryCodec<K> fitnessCodec;
+    private final int requestSize;
+    private final long timeoutNanos;
+    //request waits in queue of worker at most behind the other requests in flight
+    private final long queueTimeoutNanos;
+    private final Semaphore requestsInFlight;
+    private final AtomicLong requestIds = new AtomicLong();
+    private volatile boolean isClosed = false;
+    private final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "remote-fitness-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RemoteFitnessAssessmentStrategy(List<InetSocketAddress> workers, BinaryCodec<T> solutionCodec, BinaryCodec<K> fitnessCodec) {
+        this(workers, solutionCodec, fitnessCodec, 16, 4, 10_000);
+    }
+
+    public RemoteFitnessAssessmentStrategy(List<InetSocketAddress> workers, BinaryCodec<T> solutionCodec, BinaryCodec<K> fitnessCodec,
+                                           int requestSize, int requestsInFlight, long timeoutMillis) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker has to be given");
+        }
+        if (requestSize <= 0 || requestsInFlight <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Size of request, requests in flight and timeout have to be positive");
+        }
+        this.solutionCodec = solutionCodec;
+        this.fitnessCodec = fitnessCodec;
+        this.requestSize = requestSize;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.queueTimeoutNanos = timeoutNanos * requestsInFlight;
+        this.requestsInFlight = new Semaphore(requestsInFlight * workers.size());
+        this.workers = workers.stream().map(Worker::new).collect(Collectors.toList());
+        this.workers.forEach(Worker::connect);
+        long checkInterval = Math.max(1, timeoutMillis / 4);
+        monitor.scheduleWithFixedDelay(this::checkWorkers, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<K> computeFitnessForIndividuals(List<T> solutions) {
+        List<Request> requests = new ArrayList<>();
+        try {
+            for (int from = 0; from < solutions.size(); from = from + requestSize) {
+                requestsInFlight.acquire();
+                Request request = new Request(requestIds.incrementAndGet(), new ArrayList<>(solutions.subList(from, Math.min(solutions.size(), from + requestSize))));
+                request.result.whenComplete((fitness, failure) -> requestsInFlight.release());
+                requests.add(request);
+                dispatch(request, null);
+            }
+            List<K> fitness = new ArrayList<>(solutions.size());
+            for (Request request : requests) {
+                fitness.addAll(request.result.get());
+            }
+            return fitness;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            requests.forEach(request -> request.result.cancel(false));
+            throw new CancellationException("Remote evaluation was interrupted");
+        } catch (ExecutionException e) {
+            requests.forEach(request -> request.result.cancel(false));
+            throw new IllegalStateException("Remote evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Sends request to the least loaded healthy worker, preferably other than the previous one. When there is none,
+     * request is tried again after a while
+     */
+    private void dispatch(Request request, Worker previousWorker) {
+        if (request.result.isDone()) {
+            return;
+        }
+        if (isClosed) {
+            request.result.completeExceptionally(new IllegalStateException("Remote fitness assessment was closed"));
+            return;
+        }
+        if (request.attempts.get() >= MAXIMAL_ATTEMPTS) {
+            request.result.completeExceptionally(new IllegalStateException("Request was not evaluated in " + MAXIMAL_ATTEMPTS + " attempts"));
+            return;
+        }
+        Optional<Worker> worker = workers.stream()
+                .filter(candidate -> candidate.isHealthy)
+                .min(Comparator.comparing((Worker candidate) -> candidate == previousWorker).thenComparing(candidate -> candidate.pending.size()));
+        if (worker.isPresent() && worker.get().send(request)) {
+            return;
+        }
+        if (System.nanoTime() - request.createdAt > MAXIMAL_ATTEMPTS * timeoutNanos) {
+            request.result.completeExceptionally(new IllegalStateException("There is no healthy worker to evaluate request"));
+            return;
+        }
+        try {
+            monitor.schedule(() -> dispatch(request, previousWorker), TimeUnit.NANOSECONDS.toMillis(timeoutNanos) / 4, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //closed in the meantime
+            request.result.completeExceptionally(new IllegalStateException("Remote fitness assessment was closed"));
+        }
+    }
+
+    private void checkWorkers() {
+        long now = System.nanoTime();
+        for (Worker worker : workers) {
+            if (!worker.isConnected) {
+                worker.connect();
+                continue;
+            }
+            if (worker.pingSentAt != 0 && now - worker.pingSentAt > timeoutNanos && now - worker.lastResponseAt > timeoutNanos) {
+                worker.disconnect(new IOException("No answer to health check"));
+                continue;
+            }
+            if (worker.pingSentAt == 0) {
+                worker.ping(now);
+            }
+            for (Request request : worker.pending.values()) {
+                long startedAt = request.startedAt;
+                boolean isTimedOut = startedAt != 0 ? now - startedAt > timeoutNanos : now - request.sentAt > queueTimeoutNanos;
+                if (isTimedOut && worker.pending.remove(request.id, request)) {
+                    logger.warning("Request " + request.id + " timed out on worker " + worker.address + ", it is sent again");
+                    dispatch(request, worker);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        monitor.shutdownNow();
+        workers.forEach(worker -> worker.disconnect(null));
+    }
+
+    private class Request {
+        private final long id;
+        private final List<T> solutions;
+        private final CompletableFuture<List<K>> result = new CompletableFuture<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final long createdAt = System.nanoTime();
+        private volatile long sentAt;
+        //when worker started to evaluate the last attempt, 0 while it waits in queue of worker
+        private volatile long startedAt;
+
+        private Request(long id, List<T> solutions) {
+            this.id = id;
+            this.solutions = solutions;
+        }
+    }
+
+    private class Worker {
+        private final InetSocketAddress address;
+        private final Map<Long, Request> pending = new ConcurrentHashMap<>();
+        private volatile boolean isConnected;
+        //connected worker becomes healthy when it answers health check
+        private volatile boolean isHealthy;
+        private volatile long lastResponseAt;
+        private volatile long pingSentAt;
+        private Socket socket;
+        private DataOutputStream output;
+
+        private Worker(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        private synchronized void connect() {
+            try {
+                socket = new Socket();
+                socket.connect(address, (int) TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                socket.setTcpNoDelay(true);
+                output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                Socket connectedSocket = socket;
+                Thread reader = new Thread(() -> readResponses(connectedSocket, input), "remote-fitness-reader-" + address);
+                reader.setDaemon(true);
+                lastResponseAt = System.nanoTime();
+                isConnected = true;
+                reader.start();
+                ping(lastResponseAt);
+            } catch (IOException e) {
+                logger.fine("Fitness worker " + address + " is not available: " + e);
+            }
+        }
+
+        private boolean send(Request request) {
+            try {
+                synchronized (this) {
+                    if (!isHealthy) {
+                        return false;
+                    }
+                    request.sentAt = System.nanoTime();
+                    request.startedAt = 0;
+                    request.attempts.incrementAndGet();
+                    pending.put(request.id, request);
+                    WireProtocol.writeFrame(output, WireProtocol.EVALUATE, request.id, request.solutions, solutionCodec);
+                }
+                return true;
+            } catch (IOException e) {
+                //requests including this one are sent again
+                disconnect(e);
+                return true;
+            }
+        }
+
+        private void ping(long now) {
+            try {
+                synchronized (this) {
+                    if (isConnected) {
+                        pingSentAt = now;
+                        WireProtocol.writeFrame(output, WireProtocol.PING, 0);
+                    }
+                }
+            } catch (IOException e) {
+                disconnect(e);
+            }
+        }
+
+        private void readResponses(Socket connectedSocket, DataInputStream input) {
+            try {
+                while (true) {
+                    WireProtocol.Frame frame = WireProtocol.readFrame(input);
+                    lastResponseAt = System.nanoTime();
+                    if (frame.getType() == WireProtocol.PONG) {
+                        pingSentAt = 0;
+                        if (!isHealthy) {
+                            isHealthy = true;
+                            logger.info("Connected to fitness worker " + address);
+                        }
+                        continue;
+                    }
+                    if (frame.getType() == WireProtocol.STARTED) {
+                        Request request = pending.get(frame.getId());
+                        if (request != null) {
+                            request.startedAt = lastResponseAt;
+                        }
+                        continue;
+                    }
+                    //answer to request sent again elsewhere is ignored
+                    Request request = pending.remove(frame.getId());
+                    if (request == null) {
+                        continue;
+                    }
+                    if (frame.getType() == WireProtocol.RESULT) {
+                        List<K> fitness = WireProtocol.readValues(frame.getPayload(), fitnessCodec);
+                        if (fitness.size() == request.solutions.size()) {
+                            request.result.complete(fitness);
+                        } else {
+                            request.result.completeExceptionally(new IllegalStateException("Worker " + address + " returned " + fitness.size()
+                                    + " values for " + request.solutions.size() + " solutions"));
+                        }
+                    } else if (frame.getType() == WireProtocol.ERROR) {
+                        request.result.completeExceptionally(new IllegalStateException("Fitness assessment failed on worker " + address
+                                + ": " + WireProtocol.readMessage(frame.getPayload())));
+                    } else {
+                        throw new IOException("Unexpected type of frame " + frame.getType());
+                    }
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    if (socket != connectedSocket) {
+                        return;
+                    }
+                }
+                disconnect(e);
+            }
+        }
+
+        /**
+         * Closes connection and sends its pending requests to other workers, without cause they fail
+         */
+        private void disconnect(IOException cause) {
+            synchronized (this) {
+                if (!isConnected) {
+                    return;
+                }
+                isConnected = false;
+                isHealthy = false;
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    logger.log(Level.FINE, "Connection to " + address + " could not be closed", e);
+                }
+            }
+            if (cause != null) {
+                logger.log(Level.WARNING, "Fitness worker " + address + " is disconnected", cause);
+            }
+            for (Request request : new ArrayList<>(pending.values())) {
+                if (pending.remove(request.id, request)) {
+                    if (cause != null) {
+                        dispatch(request, this);
+                    } else {
+                        request.result.completeExceptionally(new IllegalStateException("Remote fitness assessment was closed"));
+                    }
+                }
+            }
+        }
+    }
+}
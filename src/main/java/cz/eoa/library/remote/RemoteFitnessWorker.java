@@ -0,0 +1,191 @@
+package cz.eoa.library.remote;
+
+import cz.eoa.templates.operations.BatchFitnessAssessmentStrategy;
+import cz.eoa.templates.operations.BinaryCodec;
+import cz.eoa.templates.operations.DecodingStrategy;
+import cz.eoa.templates.operations.FitnessAssessmentStrategy;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hosts fitness assessment for {@link RemoteFitnessAssessmentStrategy}. Received values are decoded (when decoding is
+ * given, evolution then sends genes) and evaluated on pool of threads, so requests pipelined over single connection
+ * are evaluated concurrently and answered in order of completion. Start of evaluation is announced, so time spent in
+ * queue of the pool does not count to timeout of request. Thread accepting connections is not daemon, so
+ * process keeps serving after its main method returns.
+ */
+public class RemoteFitnessWorker<V, T, K extends Comparable<K>> implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(RemoteFitnessWorker.class.getName());
+    private final BinaryCodec<V> valueCodec;
+    private final DecodingStrategy<V, T> decoding;
+    private final FitnessAssessmentStrategy<T, K> fitnessAssessment;
+    private final BinaryCodec<K> fitnessCodec;
+    private final ExecutorService evaluationThreads;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket serverSocket;
+
+    public RemoteFitnessWorker(BinaryCodec<V> genesCodec, DecodingStrategy<V, T> decoding, FitnessAssessmentStrategy<T, K> fitnessAssessment,
+                               BinaryCodec<K> fitnessCodec, int countOfThreads) {
+        this.valueCodec = genesCodec;
+        this.decoding = decoding;
+        this.fitnessAssessment = fitnessAssessment;
+        this.fitnessCodec = fitnessCodec;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.evaluationThreads = Executors.newFixedThreadPool(countOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, "fitness-worker-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Worker receiving already decoded solutions
+     */
+    public static <T, K extends Comparable<K>> RemoteFitnessWorker<T, T, K> of(BinaryCodec<T> solutionCodec, FitnessAssessmentStrategy<T, K> fitnessAssessment,
+                                                          BinaryCodec<K> fitnessCodec, int countOfThreads) {
+        return new RemoteFitnessWorker<>(solutionCodec, solution -> solution, fitnessAssessment, fitnessCodec, countOfThreads);
+    }
+
+    /**
+     * Starts worker process: arguments are port, name of class implementing {@link RemoteFitnessWorkerFactory} and
+     * optionally count of evaluation threads (number of processors by default). Worker is closed when process exits
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("Usage: RemoteFitnessWorker <port> <class of RemoteFitnessWorkerFactory> [count of threads]");
+        }
+        int port = Integer.parseInt(args[0]);
+        int countOfThreads = args.length == 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        RemoteFitnessWorkerFactory factory;
+        try {
+            factory = Class.forName(args[1]).asSubclass(RemoteFitnessWorkerFactory.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Factory of worker " + args[1] + " could not be created", e);
+        }
+        RemoteFitnessWorker<?, ?, ?> worker = factory.create(countOfThreads);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                worker.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Fitness worker was not closed", e);
+            }
+        }, "fitness-worker-shutdown"));
+        worker.start(port);
+    }
+
+    /**
+     * Starts listening on given port (0 for any free one) and returns the port
+     */
+    public int start(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(port));
+        Thread acceptor = new Thread(this::acceptConnections, "fitness-worker-acceptor");
+        acceptor.start();
+        logger.info("Fitness worker listens on port " + serverSocket.getLocalPort());
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread reader = new Thread(() -> serve(socket), "fitness-worker-connection-" + socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.log(Level.WARNING, "Connection could not be accepted", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket;
+             DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()))) {
+            while (true) {
+                WireProtocol.Frame frame = WireProtocol.readFrame(input);
+                if (frame.getType() == WireProtocol.PING) {
+                    synchronized (output) {
+                        WireProtocol.writeFrame(output, WireProtocol.PONG, frame.getId());
+                    }
+                } else if (frame.getType() == WireProtocol.EVALUATE) {
+                    evaluationThreads.execute(() -> evaluate(frame, output));
+                } else {
+                    throw new IOException("Unexpected type of frame " + frame.getType());
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            logger.fine("Connection " + socket.getRemoteSocketAddress() + " closed");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Connection " + socket.getRemoteSocketAddress() + " failed", e);
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void evaluate(WireProtocol.Frame frame, DataOutputStream output) {
+        try {
+            synchronized (output) {
+                WireProtocol.writeFrame(output, WireProtocol.STARTED, frame.getId());
+            }
+            List<K> fitness;
+            try {
+                List<T> solutions = new ArrayList<>();
+                for (V value : WireProtocol.readValues(frame.getPayload(), valueCodec)) {
+                    solutions.add(decoding.decode(value));
+                }
+                fitness = computeFitness(solutions);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Evaluation of request " + frame.getId() + " failed", e);
+                synchronized (output) {
+                    WireProtocol.writeFrame(output, WireProtocol.ERROR, frame.getId(), String.valueOf(e));
+                }
+                return;
+            }
+            synchronized (output) {
+                WireProtocol.writeFrame(output, WireProtocol.RESULT, frame.getId(), fitness, fitnessCodec);
+            }
+        } catch (IOException e) {
+            logger.fine("Result of request " + frame.getId() + " could not be sent: " + e);
+        }
+    }
+
+    private List<K> computeFitness(List<T> solutions) {
+        if (fitnessAssessment instanceof BatchFitnessAssessmentStrategy) {
+            return ((BatchFitnessAssessmentStrategy<T, K>) fitnessAssessment).computeFitnessForIndividuals(solutions);
+        }
+        List<K> fitness = new ArrayList<>(solutions.size());
+        for (T solution : solutions) {
+            fitness.add(fitnessAssessment.computeFitnessForIndividual(solution));
+        }
+        return fitness;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        evaluationThreads.shutdownNow();
+    }
+}
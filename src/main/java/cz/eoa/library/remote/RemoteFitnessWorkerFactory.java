@@ -0,0 +1,10 @@
+package cz.eoa.library.remote;
+
+/**
+ * Creates worker in process started by {@link RemoteFitnessWorker#main(String[])}. Implementation needs public
+ * constructor without parameters
+ */
+public interface RemoteFitnessWorkerFactory {
+
+    RemoteFitnessWorker<?, ?, ?> create(int countOfThreads);
+}
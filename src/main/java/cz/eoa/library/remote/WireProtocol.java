@@ -0,0 +1,95 @@
+package cz.eoa.library.remote;
+
+import cz.eoa.templates.operations.BinaryCodec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frames exchanged between evolution and workers. Each frame is its length, type, id of request and payload. Payload
+ * of evaluation request and of its result is count of values followed by values written by codec, payload of error is
+ * UTF-8 message. Health check, its answer and notice that evaluation of request started have no payload.
+ */
+final class WireProtocol {
+    static final byte EVALUATE = 1;
+    static final byte RESULT = 2;
+    static final byte ERROR = 3;
+    static final byte PING = 4;
+    static final byte PONG = 5;
+    static final byte STARTED = 6;
+    private static final int HEADER_SIZE = Byte.BYTES + Long.BYTES;
+    //guards against reading garbage as length of frame
+    private static final int MAXIMAL_FRAME_SIZE = 1 << 30;
+
+    private WireProtocol() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Frame {
+        private final byte type;
+        private final long id;
+        private final ByteBuffer payload;
+    }
+
+    static <X> void writeFrame(DataOutputStream output, byte type, long id, List<X> values, BinaryCodec<X> codec) throws IOException {
+        int size = Integer.BYTES;
+        for (X value : values) {
+            size = size + codec.sizeOf(value);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.putInt(values.size());
+        for (X value : values) {
+            codec.write(value, payload);
+        }
+        writeFrame(output, type, id, payload.array());
+    }
+
+    static void writeFrame(DataOutputStream output, byte type, long id, String message) throws IOException {
+        writeFrame(output, type, id, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void writeFrame(DataOutputStream output, byte type, long id) throws IOException {
+        writeFrame(output, type, id, new byte[0]);
+    }
+
+    private static void writeFrame(DataOutputStream output, byte type, long id, byte[] payload) throws IOException {
+        output.writeInt(HEADER_SIZE + payload.length);
+        output.writeByte(type);
+        output.writeLong(id);
+        output.write(payload);
+        output.flush();
+    }
+
+    static Frame readFrame(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        if (size < HEADER_SIZE || size > MAXIMAL_FRAME_SIZE) {
+            throw new IOException("Invalid size of frame " + size);
+        }
+        byte type = input.readByte();
+        long id = input.readLong();
+        byte[] payload = new byte[size - HEADER_SIZE];
+        input.readFully(payload);
+        return new Frame(type, id, ByteBuffer.wrap(payload));
+    }
+
+    static <X> List<X> readValues(ByteBuffer payload, BinaryCodec<X> codec) {
+        int count = payload.getInt();
+        List<X> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(codec.read(payload));
+        }
+        return values;
+    }
+
+    static String readMessage(ByteBuffer payload) {
+        return new String(payload.array(), payload.position(), payload.remaining(), StandardCharsets.UTF_8);
+    }
+}
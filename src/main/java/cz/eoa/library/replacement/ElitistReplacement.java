@@ -0,0 +1,26 @@
+package cz.eoa.library.replacement;
+
+import cz.eoa.cycle.TopK;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.ReplacementStrategy;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps given number of the best individuals in the next generation, the rest is bred
+ */
+public class ElitistReplacement<V, T, K extends Comparable<K>> implements ReplacementStrategy<V, T, K> {
+    private final int countOfElites;
+    private final Comparator<IndividualWithAssignedFitness<V, T, K>> comparator;
+
+    public ElitistReplacement(int countOfElites, boolean isFitnessMaximized) {
+        this.countOfElites = countOfElites;
+        this.comparator = isFitnessMaximized ? Comparator.naturalOrder() : Comparator.reverseOrder();
+    }
+
+    @Override
+    public List<IndividualWithAssignedFitness<V, T, K>> getIndividualsToIncludeInNextGeneration(List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
+        return TopK.of(currentPopulation, countOfElites, comparator).getItems();
+    }
+}
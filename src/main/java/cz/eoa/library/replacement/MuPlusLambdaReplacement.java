@@ -0,0 +1,19 @@
+package cz.eoa.library.replacement;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.ReplacementStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (mu + lambda) replacement - parents compete with offspring. All parents are kept, configure number of offspring
+ * (lambda) by offspringPerGeneration, the best population size (mu) of them survive.
+ */
+public class MuPlusLambdaReplacement<V, T, K extends Comparable<K>> implements ReplacementStrategy<V, T, K> {
+
+    @Override
+    public List<IndividualWithAssignedFitness<V, T, K>> getIndividualsToIncludeInNextGeneration(List<IndividualWithAssignedFitness<V, T, K>> currentPopulation) {
+        return new ArrayList<>(currentPopulation);
+    }
+}
@@ -0,0 +1,35 @@
+package cz.eoa.library.replacement;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.SteadyStateReplacementStrategy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Offspring replaces the worst of randomly picked individuals
+ */
+public class ReplaceByInverseTournament<V, T, K extends Comparable<K>> implements SteadyStateReplacementStrategy<V, T, K> {
+    private final int sizeOfTournament;
+    private final Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest;
+
+    public ReplaceByInverseTournament(int sizeOfTournament, boolean isFitnessMaximized) {
+        this.sizeOfTournament = sizeOfTournament;
+        this.fromWorstToBest = isFitnessMaximized ? Comparator.naturalOrder() : Comparator.reverseOrder();
+    }
+
+    @Override
+    public int indexToReplace(List<IndividualWithAssignedFitness<V, T, K>> population, IndividualWithAssignedFitness<V, T, K> offspring) {
+        SplittableRandom random = EvolutionContext.random();
+        int loser = random.nextInt(population.size());
+        for (int i = 1; i < sizeOfTournament; i++) {
+            int candidate = random.nextInt(population.size());
+            if (fromWorstToBest.compare(population.get(candidate), population.get(loser)) < 0) {
+                loser = candidate;
+            }
+        }
+        return loser;
+    }
+}
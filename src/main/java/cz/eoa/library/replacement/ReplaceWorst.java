@@ -0,0 +1,32 @@
+package cz.eoa.library.replacement;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.SteadyStateReplacementStrategy;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Offspring replaces the worst individual of population if it is better
+ */
+public class ReplaceWorst<V, T, K extends Comparable<K>> implements SteadyStateReplacementStrategy<V, T, K> {
+    private final Comparator<IndividualWithAssignedFitness<V, T, K>> fromWorstToBest;
+
+    public ReplaceWorst(boolean isFitnessMaximized) {
+        this.fromWorstToBest = isFitnessMaximized ? Comparator.naturalOrder() : Comparator.reverseOrder();
+    }
+
+    @Override
+    public int indexToReplace(List<IndividualWithAssignedFitness<V, T, K>> population, IndividualWithAssignedFitness<V, T, K> offspring) {
+        int worst = 0;
+        IndividualWithAssignedFitness<V, T, K> worstIndividual = population.get(0);
+        for (int i = 1; i < population.size(); i++) {
+            IndividualWithAssignedFitness<V, T, K> individual = population.get(i);
+            if (fromWorstToBest.compare(individual, worstIndividual) < 0) {
+                worst = i;
+                worstIndividual = individual;
+            }
+        }
+        return fromWorstToBest.compare(offspring, worstIndividual) > 0 ? worst : -1;
+    }
+}
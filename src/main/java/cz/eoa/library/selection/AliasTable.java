@@ -0,0 +1,69 @@
+package cz.eoa.library.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walker's alias table (Vose's construction) for sampling of indexes proportionally to non-negative weights. It is
+ * built in O(n), each sample takes O(1) and allocates nothing. When all weights are zero, indexes are sampled uniformly.
+ */
+public class AliasTable {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    public AliasTable(double[] weights) {
+        int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one weight has to be given");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights have to be finite and non-negative, got " + weight);
+            }
+            sum = sum + weight;
+        }
+        probabilities = new double[size];
+        aliases = new int[size];
+
+        //scale weights so their mean is 1, split them to under-full and over-full
+        int[] small = new int[size], large = new int[size];
+        int countOfSmall = 0, countOfLarge = 0;
+        for (int i = 0; i < size; i++) {
+            probabilities[i] = sum > 0 ? weights[i] * size / sum : 1.0;
+            if (probabilities[i] < 1.0) {
+                small[countOfSmall++] = i;
+            } else {
+                large[countOfLarge++] = i;
+            }
+        }
+
+        //fill each under-full column by over-full one
+        while (countOfSmall > 0 && countOfLarge > 0) {
+            int less = small[--countOfSmall], more = large[--countOfLarge];
+            aliases[less] = more;
+            probabilities[more] = probabilities[more] + probabilities[less] - 1.0;
+            if (probabilities[more] < 1.0) {
+                small[countOfSmall++] = more;
+            } else {
+                large[countOfLarge++] = more;
+            }
+        }
+
+        //the rest is full up to rounding errors
+        while (countOfLarge > 0) {
+            probabilities[large[--countOfLarge]] = 1.0;
+        }
+        while (countOfSmall > 0) {
+            probabilities[small[--countOfSmall]] = 1.0;
+        }
+    }
+
+    public int size() {
+        return probabilities.length;
+    }
+
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+}
@@ -0,0 +1,33 @@
+package cz.eoa.library.selection;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.operations.SelectorStrategy;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Linear ranking selection. Individuals are ranked once per generation, individuals with equal fitness share rank.
+ * The best one is selected with probability 'selectionPressure' times the mean one, the worst one with
+ * 2 - 'selectionPressure' times. Draw takes O(1).
+ */
+public class RankSelector<V, T, K extends Comparable<K>> extends SnapshotSelector<V, T, K> {
+    private final double selectionPressure;
+
+    public RankSelector(double selectionPressure, ToDoubleFunction<K> fitnessAsDouble, boolean isFitnessMaximized) {
+        super(fitnessAsDouble, isFitnessMaximized);
+        if (selectionPressure < 1.0 || selectionPressure > 2.0) {
+            throw new IllegalArgumentException("Selection pressure has to be from 1 to 2, got " + selectionPressure);
+        }
+        this.selectionPressure = selectionPressure;
+    }
+
+    @Override
+    protected SelectorStrategy<V, T, K> prepare(SelectionContext<V, T, K> context) {
+        double[] weights = context.ranks();
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weights.length == 1 ? 1.0 : (2.0 - selectionPressure) + 2.0 * (selectionPressure - 1.0) * weights[i] / (weights.length - 1);
+        }
+        AliasTable aliasTable = new AliasTable(weights);
+        return population -> context.get(aliasTable.sample(EvolutionContext.random()));
+    }
+}
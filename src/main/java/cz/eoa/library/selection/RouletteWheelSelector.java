@@ -0,0 +1,35 @@
+package cz.eoa.library.selection;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.operations.SelectorStrategy;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fitness-proportional selection by alias table, draw takes O(1). Maximized fitness has to be non-negative and it is
+ * used as weight directly. Minimized fitness is windowed, weight is difference between the worst fitness and fitness
+ * of individual, so the worst individual is never selected unless all are equal. When single individual has non-zero
+ * weight, it is selected as both parents after limited number of attempts to select distinct one.
+ */
+public class RouletteWheelSelector<V, T, K extends Comparable<K>> extends SnapshotSelector<V, T, K> {
+    private final boolean isFitnessMaximized;
+
+    public RouletteWheelSelector(ToDoubleFunction<K> fitnessAsDouble, boolean isFitnessMaximized) {
+        super(fitnessAsDouble, isFitnessMaximized);
+        this.isFitnessMaximized = isFitnessMaximized;
+    }
+
+    @Override
+    protected SelectorStrategy<V, T, K> prepare(SelectionContext<V, T, K> context) {
+        double[] weights = new double[context.size()];
+        double worst = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < weights.length; i++) {
+            worst = Math.min(worst, context.getFitness(i));
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = isFitnessMaximized ? context.getFitness(i) : context.getFitness(i) - worst;
+        }
+        AliasTable aliasTable = new AliasTable(weights);
+        return population -> context.get(aliasTable.sample(EvolutionContext.random()));
+    }
+}
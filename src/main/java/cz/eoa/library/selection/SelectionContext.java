@@ -0,0 +1,82 @@
+package cz.eoa.library.selection;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Snapshot of population of single generation for selection. Fitness is converted to primitive array once, with sign
+ * flipped when fitness is minimized, so greater value is always better.
+ */
+public class SelectionContext<V, T, K extends Comparable<K>> {
+    @Getter
+    private final List<IndividualWithAssignedFitness<V, T, K>> population;
+    private final double[] fitness;
+    private final boolean isFitnessMaximized;
+
+    public SelectionContext(List<IndividualWithAssignedFitness<V, T, K>> population, ToDoubleFunction<K> fitnessAsDouble, boolean isFitnessMaximized) {
+        if (population.isEmpty()) {
+            throw new IllegalArgumentException("Population to select from is empty");
+        }
+        this.population = population;
+        this.isFitnessMaximized = isFitnessMaximized;
+        this.fitness = new double[population.size()];
+        for (int i = 0; i < fitness.length; i++) {
+            double fitnessOfIndividual = fitnessAsDouble.applyAsDouble(population.get(i).getFitness());
+            fitness[i] = isFitnessMaximized ? fitnessOfIndividual : -fitnessOfIndividual;
+        }
+    }
+
+    public int size() {
+        return fitness.length;
+    }
+
+    /**
+     * Fitness of individual at given index, greater is better
+     */
+    public double getFitness(int index) {
+        return fitness[index];
+    }
+
+    /**
+     * Fitness of individual at given index as assigned, i.e. with its original sign
+     */
+    public double getOriginalFitness(int index) {
+        return isFitnessMaximized ? fitness[index] : -fitness[index];
+    }
+
+    public IndividualWithAssignedFitness<V, T, K> get(int index) {
+        return population.get(index);
+    }
+
+    /**
+     * Ranks of individuals from 0 (the worst) to size - 1 (the best). Individuals with the same fitness share mean of
+     * their ranks
+     */
+    public double[] ranks() {
+        double[] sortedFitness = fitness.clone();
+        Arrays.sort(sortedFitness);
+        double[] ranks = new double[fitness.length];
+        for (int i = 0; i < fitness.length; i++) {
+            int lowest = lowerBound(sortedFitness, fitness[i]), highest = lowerBound(sortedFitness, Math.nextUp(fitness[i])) - 1;
+            ranks[i] = (lowest + highest) / 2.0;
+        }
+        return ranks;
+    }
+
+    private static int lowerBound(double[] sortedValues, double value) {
+        int low = 0, high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
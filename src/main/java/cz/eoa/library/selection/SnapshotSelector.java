@@ -0,0 +1,36 @@
+package cz.eoa.library.selection;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.SelectorStrategy;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selector working on {@link SelectionContext} of generation. Executor prepares it once per generation, when it is
+ * used without preparation (e.g. by steady-state evolution), the context is built for each selection.
+ */
+public abstract class SnapshotSelector<V, T, K extends Comparable<K>> implements SelectorStrategy<V, T, K> {
+    private final ToDoubleFunction<K> fitnessAsDouble;
+    private final boolean isFitnessMaximized;
+
+    protected SnapshotSelector(ToDoubleFunction<K> fitnessAsDouble, boolean isFitnessMaximized) {
+        this.fitnessAsDouble = fitnessAsDouble;
+        this.isFitnessMaximized = isFitnessMaximized;
+    }
+
+    /**
+     * Returns selector drawing from context, it is called once per generation
+     */
+    protected abstract SelectorStrategy<V, T, K> prepare(SelectionContext<V, T, K> context);
+
+    @Override
+    public SelectorStrategy<V, T, K> prepare(List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return prepare(new SelectionContext<>(population, fitnessAsDouble, isFitnessMaximized));
+    }
+
+    @Override
+    public IndividualWithAssignedFitness<V, T, K> select(List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return prepare(population).select(population);
+    }
+}
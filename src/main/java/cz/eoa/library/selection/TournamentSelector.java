@@ -0,0 +1,38 @@
+package cz.eoa.library.selection;
+
+import cz.eoa.templates.EvolutionContext;
+import cz.eoa.templates.operations.SelectorStrategy;
+
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Tournament of given size with replacement, the best of randomly drawn individuals wins. Fitness is compared as
+ * primitive values, draw takes O(size).
+ */
+public class TournamentSelector<V, T, K extends Comparable<K>> extends SnapshotSelector<V, T, K> {
+    private final int size;
+
+    public TournamentSelector(int size, ToDoubleFunction<K> fitnessAsDouble, boolean isFitnessMaximized) {
+        super(fitnessAsDouble, isFitnessMaximized);
+        if (size < 1) {
+            throw new IllegalArgumentException("Size of tournament has to be positive, got " + size);
+        }
+        this.size = size;
+    }
+
+    @Override
+    protected SelectorStrategy<V, T, K> prepare(SelectionContext<V, T, K> context) {
+        return population -> {
+            SplittableRandom random = EvolutionContext.random();
+            int winner = random.nextInt(context.size());
+            for (int i = 1; i < size; i++) {
+                int candidate = random.nextInt(context.size());
+                if (context.getFitness(candidate) > context.getFitness(winner)) {
+                    winner = candidate;
+                }
+            }
+            return context.get(winner);
+        };
+    }
+}
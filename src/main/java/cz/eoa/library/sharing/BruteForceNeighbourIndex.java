@@ -0,0 +1,38 @@
+package cz.eoa.library.sharing;
+
+import cz.eoa.templates.operations.GenesDistance;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Computes distance to all individuals. Use it only when there is no better index for the representation
+ */
+public class BruteForceNeighbourIndex<V> implements NeighbourIndex {
+    private final List<V> genes;
+    private final double radius;
+    private final GenesDistance<V> distance;
+
+    private BruteForceNeighbourIndex(List<V> genes, double radius, GenesDistance<V> distance) {
+        this.genes = genes;
+        this.radius = radius;
+        this.distance = distance;
+    }
+
+    public static <V> NeighbourIndexFactory<V> factory(GenesDistance<V> distance) {
+        return (genes, radius) -> new BruteForceNeighbourIndex<>(genes, radius, distance);
+    }
+
+    @Override
+    public double sumOverNeighbours(int index, DoubleUnaryOperator kernel) {
+        double sum = 0;
+        V center = genes.get(index);
+        for (int i = 0; i < genes.size(); i++) {
+            double distanceToNeighbour = i == index ? 0 : distance.distance(center, genes.get(i));
+            if (distanceToNeighbour <= radius) {
+                sum = sum + kernel.applyAsDouble(distanceToNeighbour);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,65 @@
+package cz.eoa.library.sharing;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.FitnessTweakingStrategy;
+import cz.eoa.templates.operations.IndividualFitnessUpdater;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Fitness sharing (niching). Fitness of individual is divided by its niche count - sum of 1 - (d / radius)^alpha over
+ * all individuals within distance d lower or equal to radius. When fitness is minimized, it is multiplied instead.
+ * Fitness is expected to be non-negative. Neighbours are found by index, so only individuals within radius are visited.
+ */
+public class FitnessSharing<V, T> implements FitnessTweakingStrategy<V, T, Double> {
+    private final NeighbourIndexFactory<V> neighbourIndexFactory;
+    private final double radius;
+    private final boolean isFitnessMaximized;
+    private final DoubleUnaryOperator kernel;
+
+    public FitnessSharing(NeighbourIndexFactory<V> neighbourIndexFactory, double radius, double alpha, boolean isFitnessMaximized) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius has to be positive, got " + radius);
+        }
+        this.neighbourIndexFactory = neighbourIndexFactory;
+        this.radius = radius;
+        this.isFitnessMaximized = isFitnessMaximized;
+        this.kernel = distance -> 1.0 - Math.pow(distance / radius, alpha);
+    }
+
+    @Override
+    public IndividualFitnessUpdater<V, T, Double> getIndividualUpdater(List<IndividualWithAssignedFitness<V, T, Double>> population) {
+        NeighbourIndex neighbourIndex = neighbourIndexFactory.create(new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return population.get(index).getGenes();
+            }
+
+            @Override
+            public int size() {
+                return population.size();
+            }
+        }, radius);
+
+        return new IndividualFitnessUpdater<V, T, Double>() {
+            @Override
+            public Double computeNewFitness(IndividualWithAssignedFitness<V, T, Double> individualToRecomputeFitness, List<IndividualWithAssignedFitness<V, T, Double>> restOfPopulation) {
+                for (int i = 0; i < population.size(); i++) {
+                    if (population.get(i) == individualToRecomputeFitness) {
+                        return computeNewFitness(i, population);
+                    }
+                }
+                throw new IllegalArgumentException("Individual is not part of population the updater was created for");
+            }
+
+            @Override
+            public Double computeNewFitness(int individualsIndex, List<IndividualWithAssignedFitness<V, T, Double>> population) {
+                double nicheCount = neighbourIndex.sumOverNeighbours(individualsIndex, kernel);
+                double fitness = population.get(individualsIndex).getFitness();
+                return isFitnessMaximized ? fitness / nicheCount : fitness * nicheCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package cz.eoa.library.sharing;
+
+import java.util.*;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * Index of points in real space by Euclidean distance. Space is split to cells with side equal to radius, so only
+ * individuals from neighbouring cells are compared. Number of neighbouring cells grows as 3^dimension, so it is suited
+ * for low dimensional problems.
+ */
+public class GridNeighbourIndex implements NeighbourIndex {
+    private final double[][] points;
+    private final double radius;
+    private final long[][] cells;
+    private final Map<Long, int[]> members;
+
+    private GridNeighbourIndex(double[][] points, double radius) {
+        this.points = points;
+        this.radius = radius;
+        this.cells = new long[points.length][];
+        Map<Long, List<Integer>> membersOfCells = new HashMap<>();
+        for (int i = 0; i < points.length; i++) {
+            cells[i] = new long[points[i].length];
+            for (int dimension = 0; dimension < points[i].length; dimension++) {
+                cells[i][dimension] = (long) Math.floor(points[i][dimension] / radius);
+            }
+            membersOfCells.computeIfAbsent(cellKey(cells[i]), key -> new ArrayList<>()).add(i);
+        }
+        this.members = new HashMap<>(membersOfCells.size() * 2);
+        membersOfCells.forEach((key, indexes) -> members.put(key, indexes.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * @param coordinates of individual with given genes
+     */
+    public static <V> NeighbourIndexFactory<V> factory(Function<V, double[]> coordinates) {
+        return (genes, radius) -> {
+            if (radius <= 0) {
+                throw new IllegalArgumentException("Radius has to be positive, got " + radius);
+            }
+            double[][] points = new double[genes.size()][];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = coordinates.apply(genes.get(i));
+            }
+            return new GridNeighbourIndex(points, radius);
+        };
+    }
+
+    @Override
+    public double sumOverNeighbours(int index, DoubleUnaryOperator kernel) {
+        long[] center = cells[index];
+        long[] cell = new long[center.length];
+        int[] offsets = new int[center.length];
+        Arrays.fill(offsets, -1);
+        double sum = 0;
+        while (true) {
+            for (int dimension = 0; dimension < center.length; dimension++) {
+                cell[dimension] = center[dimension] + offsets[dimension];
+            }
+            int[] candidates = members.get(cellKey(cell));
+            if (candidates != null) {
+                for (int candidate : candidates) {
+                    //keys of different cells may collide
+                    if (Arrays.equals(cells[candidate], cell)) {
+                        double distance = distance(points[index], points[candidate]);
+                        if (distance <= radius) {
+                            sum = sum + kernel.applyAsDouble(distance);
+                        }
+                    }
+                }
+            }
+            //next combination of offsets
+            int dimension = 0;
+            while (dimension < offsets.length && offsets[dimension] == 1) {
+                offsets[dimension] = -1;
+                dimension++;
+            }
+            if (dimension == offsets.length) {
+                return sum;
+            }
+            offsets[dimension]++;
+        }
+    }
+
+    private static double distance(double[] first, double[] second) {
+        double sum = 0;
+        for (int i = 0; i < first.length; i++) {
+            double difference = first[i] - second[i];
+            sum = sum + difference * difference;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static long cellKey(long[] cell) {
+        long key = 0;
+        for (long coordinate : cell) {
+            key = key * 0x9e3779b97f4a7c15L + coordinate;
+        }
+        return key;
+    }
+}
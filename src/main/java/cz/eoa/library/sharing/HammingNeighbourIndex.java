@@ -0,0 +1,116 @@
+package cz.eoa.library.sharing;
+
+import cz.eoa.library.binary.BitString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Index of bit strings by Hamming distance. Strings are split to radius + 1 blocks, two strings within the radius
+ * must be identical in at least one block (pigeonhole principle). Only individuals sharing some block are compared,
+ * so it pays off for radius small compared to length of strings.
+ */
+public class HammingNeighbourIndex implements NeighbourIndex {
+    private final List<BitString> genes;
+    private final int radius;
+    private final int[] blockStarts;
+    //key of each block of each individual
+    private final long[][] keys;
+    private final List<Map<Long, int[]>> buckets;
+
+    private HammingNeighbourIndex(List<BitString> genes, double radius) {
+        this.genes = genes;
+        this.radius = (int) Math.floor(radius);
+        int length = genes.isEmpty() ? 0 : genes.get(0).length();
+        int countOfBlocks = this.radius < length ? this.radius + 1 : 0;
+        this.blockStarts = new int[countOfBlocks + 1];
+        for (int i = 0; i <= countOfBlocks; i++) {
+            blockStarts[i] = countOfBlocks == 0 ? 0 : (int) ((long) length * i / countOfBlocks);
+        }
+        this.keys = new long[genes.size()][countOfBlocks];
+        this.buckets = new ArrayList<>(countOfBlocks);
+        for (int block = 0; block < countOfBlocks; block++) {
+            Map<Long, List<Integer>> members = new HashMap<>();
+            for (int i = 0; i < genes.size(); i++) {
+                keys[i][block] = blockKey(genes.get(i), blockStarts[block], blockStarts[block + 1]);
+                members.computeIfAbsent(keys[i][block], key -> new ArrayList<>()).add(i);
+            }
+            Map<Long, int[]> bucketsOfBlock = new HashMap<>(members.size() * 2);
+            members.forEach((key, indexes) -> bucketsOfBlock.put(key, indexes.stream().mapToInt(Integer::intValue).toArray()));
+            buckets.add(bucketsOfBlock);
+        }
+    }
+
+    public static NeighbourIndexFactory<BitString> factory() {
+        return HammingNeighbourIndex::new;
+    }
+
+    @Override
+    public double sumOverNeighbours(int index, DoubleUnaryOperator kernel) {
+        BitString center = genes.get(index);
+        double sum = 0;
+        if (isScanOfAllCheaper(index)) {
+            for (BitString neighbour : genes) {
+                int distance = center.hammingDistance(neighbour);
+                if (distance <= radius) {
+                    sum = sum + kernel.applyAsDouble(distance);
+                }
+            }
+            return sum;
+        }
+        for (int block = 0; block < buckets.size(); block++) {
+            for (int neighbour : buckets.get(block).get(keys[index][block])) {
+                if (isVisitedInPreviousBlock(index, neighbour, block)) {
+                    continue;
+                }
+                int distance = center.hammingDistance(genes.get(neighbour));
+                if (distance <= radius) {
+                    sum = sum + kernel.applyAsDouble(distance);
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * When radius covers whole string or population is clustered, most of individuals are candidates in several blocks.
+     * Comparing them all is cheaper then
+     */
+    private boolean isScanOfAllCheaper(int index) {
+        if (buckets.isEmpty()) {
+            return true;
+        }
+        long candidates = 0;
+        for (int block = 0; block < buckets.size(); block++) {
+            candidates = candidates + buckets.get(block).get(keys[index][block]).length;
+        }
+        long words = (genes.get(index).length() + 63) / 64;
+        return candidates * (buckets.size() / 2 + words) >= genes.size() * words;
+    }
+
+    /**
+     * Each neighbour is visited only in the first block which has the same key
+     */
+    private boolean isVisitedInPreviousBlock(int index, int neighbour, int block) {
+        for (int previousBlock = 0; previousBlock < block; previousBlock++) {
+            if (keys[index][previousBlock] == keys[neighbour][previousBlock]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bits of block for blocks up to 64 bits, hash of them for longer ones
+     */
+    private static long blockKey(BitString genes, int from, int to) {
+        long key = 0;
+        for (int start = from; start < to; start = start + 64) {
+            key = key * 0x9e3779b97f4a7c15L + genes.getBits(start, Math.min(64, to - start));
+        }
+        return key;
+    }
+}
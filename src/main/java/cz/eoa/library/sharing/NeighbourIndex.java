@@ -0,0 +1,15 @@
+package cz.eoa.library.sharing;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Index over genes of population which visits only individuals within radius it was created for
+ */
+public interface NeighbourIndex {
+
+    /**
+     * Sums kernel applied to distance of each individual within radius from individual at given index, including the
+     * individual itself. It may be called concurrently
+     */
+    double sumOverNeighbours(int index, DoubleUnaryOperator kernel);
+}
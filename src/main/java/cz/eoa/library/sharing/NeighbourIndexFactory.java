@@ -0,0 +1,7 @@
+package cz.eoa.library.sharing;
+
+import java.util.List;
+
+public interface NeighbourIndexFactory<V> {
+    NeighbourIndex create(List<V> genes, double radius);
+}
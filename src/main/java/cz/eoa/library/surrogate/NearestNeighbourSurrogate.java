@@ -0,0 +1,89 @@
+package cz.eoa.library.surrogate;
+
+import cz.eoa.templates.operations.GenesDistance;
+import cz.eoa.templates.operations.SurrogateModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * k-nearest-neighbour regression. Fitness is estimated as mean of fitness of 'k' nearest evaluated genomes weighted by
+ * inverse of their distance, fitness of the same genome is returned as it is. Archive keeps the last 'capacity'
+ * evaluations, the oldest ones are replaced, so the model follows the population. Each estimate scans the whole archive.
+ */
+public class NearestNeighbourSurrogate<V> implements SurrogateModel<V> {
+    private final GenesDistance<V> distance;
+    private final int k;
+    private final int capacity;
+    private final List<V> genes;
+    private final double[] fitness;
+    //position to write the next evaluation to, once archive is full
+    private int next = 0;
+
+    public NearestNeighbourSurrogate(GenesDistance<V> distance, int k, int capacity) {
+        if (k < 1 || capacity < k) {
+            throw new IllegalArgumentException("At least one neighbour is needed and capacity can not be lower than number of neighbours");
+        }
+        this.distance = distance;
+        this.k = k;
+        this.capacity = capacity;
+        this.genes = new ArrayList<>(capacity);
+        this.fitness = new double[capacity];
+    }
+
+    @Override
+    public void add(V genesOfEvaluated, double fitnessOfEvaluated) {
+        if (genes.size() < capacity) {
+            fitness[genes.size()] = fitnessOfEvaluated;
+            genes.add(genesOfEvaluated);
+            return;
+        }
+        genes.set(next, genesOfEvaluated);
+        fitness[next] = fitnessOfEvaluated;
+        next = (next + 1) % capacity;
+    }
+
+    @Override
+    public boolean isReady() {
+        return genes.size() >= k;
+    }
+
+    @Override
+    public double estimate(V genesToEstimate) {
+        //nearest neighbours sorted by distance, from the nearest one
+        double[] nearestDistances = new double[k];
+        int[] nearest = new int[k];
+        int found = 0;
+        for (int i = 0; i < genes.size(); i++) {
+            double distanceOfNeighbour = distance.distance(genesToEstimate, genes.get(i));
+            if (distanceOfNeighbour == 0) {
+                return fitness[i];
+            }
+            if (found < k || distanceOfNeighbour < nearestDistances[found - 1]) {
+                int position = found < k ? found++ : found - 1;
+                while (position > 0 && nearestDistances[position - 1] > distanceOfNeighbour) {
+                    nearestDistances[position] = nearestDistances[position - 1];
+                    nearest[position] = nearest[position - 1];
+                    position--;
+                }
+                nearestDistances[position] = distanceOfNeighbour;
+                nearest[position] = i;
+            }
+        }
+        if (found == 0) {
+            return Double.NaN;
+        }
+        double sumOfWeights = 0, weightedSum = 0;
+        for (int i = 0; i < found; i++) {
+            double weight = 1 / nearestDistances[i];
+            sumOfWeights = sumOfWeights + weight;
+            weightedSum = weightedSum + weight * fitness[nearest[i]];
+        }
+        return weightedSum / sumOfWeights;
+    }
+
+    @Override
+    public int size() {
+        return genes.size();
+    }
+}
@@ -0,0 +1,14 @@
+package cz.eoa.templates;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fitness of mutant computed from its parent, together with state of evaluation passed to its own mutants
+ */
+@Getter
+@AllArgsConstructor
+public class DeltaEvaluation<K, S> {
+    private final K fitness;
+    private final S state;
+}
@@ -0,0 +1,132 @@
+package cz.eoa.templates;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable population with double fitness. Fitness of individuals is kept also in primitive array, so the best
+ * individuals and aggregates are found without touching the individuals.
+ */
+public class DoublePopulation<V, T> extends AbstractList<IndividualWithAssignedFitness<V, T, Double>> implements RandomAccess {
+    private final Object[] individuals;
+    private final double[] fitness;
+
+    private DoublePopulation(Object[] individuals, double[] fitness) {
+        this.individuals = individuals;
+        this.fitness = fitness;
+    }
+
+    public static <V, T> DoublePopulation<V, T> of(List<? extends IndividualWithAssignedFitness<V, T, Double>> population) {
+        if (population instanceof DoublePopulation) {
+            return asDoublePopulation(population);
+        }
+        Object[] individuals = population.toArray();
+        double[] fitness = new double[individuals.length];
+        for (int i = 0; i < individuals.length; i++) {
+            fitness[i] = IndividualWithDoubleFitness.fitnessOf(population.get(i));
+        }
+        return new DoublePopulation<>(individuals, fitness);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, T> DoublePopulation<V, T> asDoublePopulation(List<? extends IndividualWithAssignedFitness<V, T, Double>> population) {
+        return (DoublePopulation<V, T>) population;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public IndividualWithAssignedFitness<V, T, Double> get(int index) {
+        return (IndividualWithAssignedFitness<V, T, Double>) individuals[index];
+    }
+
+    @Override
+    public int size() {
+        return individuals.length;
+    }
+
+    public double getFitness(int index) {
+        return fitness[index];
+    }
+
+    public int indexOfBest(boolean isFitnessMaximized) {
+        int best = 0;
+        for (int i = 1; i < fitness.length; i++) {
+            if (isFitnessMaximized ? fitness[i] > fitness[best] : fitness[i] < fitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Selects k best individuals by bounded heap of indexes in O(n log k), selected individuals are sorted from
+     * the best one. Of individuals with the same fitness, the earlier one is preferred
+     */
+    public DoublePopulation<V, T> best(int k, boolean isFitnessMaximized) {
+        int size = Math.max(0, Math.min(k, fitness.length));
+        double sign = isFitnessMaximized ? 1.0 : -1.0;
+        //the worst of selected individuals is on the top of heap
+        int[] heap = new int[size];
+        for (int i = 0; i < fitness.length; i++) {
+            if (i < size) {
+                heap[i] = i;
+                siftUp(heap, i, sign);
+            } else if (size > 0 && isBetter(i, heap[0], sign)) {
+                heap[0] = i;
+                siftDown(heap, size, sign);
+            }
+        }
+        Object[] selectedIndividuals = new Object[size];
+        double[] selectedFitness = new double[size];
+        for (int remaining = size; remaining > 0; remaining--) {
+            int worst = heap[0];
+            selectedIndividuals[remaining - 1] = individuals[worst];
+            selectedFitness[remaining - 1] = fitness[worst];
+            heap[0] = heap[remaining - 1];
+            siftDown(heap, remaining - 1, sign);
+        }
+        return new DoublePopulation<>(selectedIndividuals, selectedFitness);
+    }
+
+    private void siftUp(int[] heap, int position, double sign) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isBetter(heap[parent], heap[position], sign)) {
+                return;
+            }
+            swap(heap, position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, double sign) {
+        int position = 0;
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && isBetter(heap[child], heap[child + 1], sign)) {
+                child++;
+            }
+            if (!isBetter(heap[position], heap[child], sign)) {
+                return;
+            }
+            swap(heap, position, child);
+            position = child;
+        }
+    }
+
+    private boolean isBetter(int index, int otherIndex, double sign) {
+        double difference = sign * fitness[index] - sign * fitness[otherIndex];
+        return difference > 0 || (difference == 0 && index < otherIndex);
+    }
+
+    private static void swap(int[] heap, int first, int second) {
+        int swapped = heap[first];
+        heap[first] = heap[second];
+        heap[second] = swapped;
+    }
+
+    public FitnessAggregates getAggregates() {
+        return FitnessAggregates.of(fitness, fitness.length);
+    }
+}
@@ -0,0 +1,30 @@
+package cz.eoa.templates;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Context of task executed by evolution. Operators should draw random numbers from {@link #random()}. Executor binds
+ * to each task its own stream derived from seed of the run and index of the task, so runs are repeatable regardless
+ * of how tasks are spread over threads. Outside of tasks, unseeded stream of the current thread is returned.
+ */
+public final class EvolutionContext {
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+
+    private EvolutionContext() {
+    }
+
+    public static SplittableRandom random() {
+        return RANDOM.get();
+    }
+
+    public static <R> R withRandom(SplittableRandom random, Supplier<R> task) {
+        SplittableRandom previous = RANDOM.get();
+        RANDOM.set(random);
+        try {
+            return task.get();
+        } finally {
+            RANDOM.set(previous);
+        }
+    }
+}
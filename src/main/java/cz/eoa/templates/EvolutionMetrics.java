@@ -0,0 +1,56 @@
+package cz.eoa.templates;
+
+import lombok.Getter;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Metrics of evolution - calls and time spent in each phase, latency of fitness evaluation, mutations which did not
+ * return offspring and iterations of breeding loop needed on top of the first one to fill generation
+ */
+public class EvolutionMetrics {
+    private final long[] calls;
+    private final long[] nanos;
+    @Getter
+    private final LatencyHistogram evaluationLatency;
+    @Getter
+    private final long rejectedMutations;
+    @Getter
+    private final long extraBreedingIterations;
+
+    public EvolutionMetrics(long[] calls, long[] nanos, LatencyHistogram evaluationLatency, long rejectedMutations, long extraBreedingIterations) {
+        this.calls = calls.clone();
+        this.nanos = nanos.clone();
+        this.evaluationLatency = evaluationLatency;
+        this.rejectedMutations = rejectedMutations;
+        this.extraBreedingIterations = extraBreedingIterations;
+    }
+
+    public long getCalls(EvolutionPhase phase) {
+        return calls[phase.ordinal()];
+    }
+
+    public long getNanos(EvolutionPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public EvolutionMetrics since(EvolutionMetrics previous) {
+        long[] callsSince = new long[calls.length], nanosSince = new long[nanos.length];
+        for (int i = 0; i < calls.length; i++) {
+            callsSince[i] = calls[i] - previous.calls[i];
+            nanosSince[i] = nanos[i] - previous.nanos[i];
+        }
+        return new EvolutionMetrics(callsSince, nanosSince, evaluationLatency.since(previous.evaluationLatency),
+                rejectedMutations - previous.rejectedMutations, extraBreedingIterations - previous.extraBreedingIterations);
+    }
+
+    public String getSummary() {
+        return Stream.of(EvolutionPhase.values())
+                .filter(phase -> getCalls(phase) > 0)
+                .map(phase -> phase.name().toLowerCase() + ": " + getNanos(phase) / 1_000_000 + "ms/" + getCalls(phase))
+                .collect(Collectors.joining(", ", "phases [", "]"))
+                + ", evaluation latency " + evaluationLatency.getSummary() + ", rejected mutations: " + rejectedMutations
+                + ", extra breeding iterations: " + extraBreedingIterations;
+    }
+}
@@ -0,0 +1,23 @@
+package cz.eoa.templates;
+
+/**
+ * Phases of evolution measured by metrics. Operator phases are timed per call and summed over all threads, the others
+ * are timed as whole steps of generation
+ */
+public enum EvolutionPhase {
+    //per call of operator
+    INITIALIZATION,
+    SELECTION,
+    CROSSOVER,
+    MUTATION,
+    DECODING,
+    FITNESS_EVALUATION,
+    //single call evaluates whole batch, so it is not part of histogram of evaluation latency
+    BATCH_FITNESS_EVALUATION,
+    DELTA_EVALUATION,
+    //per step of generation
+    SCREENING,
+    FITNESS_TWEAKING,
+    REPLACEMENT,
+    STATISTICS
+}
@@ -0,0 +1,36 @@
+package cz.eoa.templates;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Aggregated fitness of population, computed in single pass
+ */
+@Getter
+@AllArgsConstructor
+public class FitnessAggregates {
+    private final int count;
+    private final double mean;
+    private final double variance;
+    private final double min;
+    private final double max;
+
+    /**
+     * Aggregates the first 'count' values of given array
+     */
+    public static FitnessAggregates of(double[] fitness, int count) {
+        double mean = 0, sumOfSquaredDifferences = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double difference = fitness[i] - mean;
+            mean = mean + difference / (i + 1);
+            sumOfSquaredDifferences = sumOfSquaredDifferences + difference * (fitness[i] - mean);
+            min = Math.min(min, fitness[i]);
+            max = Math.max(max, fitness[i]);
+        }
+        return new FitnessAggregates(count, mean, count > 0 ? sumOfSquaredDifferences / count : 0, min, max);
+    }
+
+    public String getSummary() {
+        return "mean fitness: " + mean + ", fitness variance: " + variance;
+    }
+}
@@ -0,0 +1,24 @@
+package cz.eoa.templates;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Usage of fitness cache. Hits, misses and evictions are counted for single epoch, size is current number of cached genomes
+ */
+@Getter
+@AllArgsConstructor
+public class FitnessCacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    public FitnessCacheStatistics since(FitnessCacheStatistics previous) {
+        return new FitnessCacheStatistics(hits - previous.hits, misses - previous.misses, evictions - previous.evictions, size);
+    }
+
+    public String getSummary() {
+        return "cache hits: " + hits + ", cache misses: " + misses + ", cache evictions: " + evictions + ", cache size: " + size;
+    }
+}
@@ -0,0 +1,56 @@
+package cz.eoa.templates;
+
+import lombok.Getter;
+
+import java.util.function.IntFunction;
+
+/**
+ * Population of genomes of fixed length stored one after another in single primitive array (e.g. long[] or double[]).
+ * Genome of individual with index i starts at offset i * length, fitness of individuals is kept in primitive array
+ * alongside. Arena is allocated once and its content is overwritten in place.
+ */
+@Getter
+public final class GenomeArena<A> {
+    private final IntFunction<A> arrays;
+    private final A genes;
+    private final double[] fitness;
+    private final int capacity;
+    private final int length;
+
+    /**
+     * @param arrays   creates array of genes of given size, e.g. long[]::new
+     * @param capacity number of genomes
+     * @param length   number of genes of each genome
+     */
+    public GenomeArena(IntFunction<A> arrays, int capacity, int length) {
+        if (capacity < 0 || length < 1 || (long) capacity * length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arena of " + capacity + " genomes of length " + length + " can not be allocated");
+        }
+        this.arrays = arrays;
+        this.genes = arrays.apply(capacity * length);
+        this.fitness = new double[capacity];
+        this.capacity = capacity;
+        this.length = length;
+    }
+
+    public int offset(int index) {
+        return index * length;
+    }
+
+    /**
+     * Copies genome and fitness of individual to given position of target arena
+     */
+    public void copy(int index, GenomeArena<A> target, int targetIndex) {
+        System.arraycopy(genes, offset(index), target.genes, target.offset(targetIndex), length);
+        target.fitness[targetIndex] = fitness[index];
+    }
+
+    /**
+     * Genome of individual copied to new array, so it outlives changes of arena
+     */
+    public A copyOfGenes(int index) {
+        A copy = arrays.apply(length);
+        System.arraycopy(genes, offset(index), copy, 0, length);
+        return copy;
+    }
+}
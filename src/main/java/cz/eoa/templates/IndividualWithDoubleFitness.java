@@ -0,0 +1,37 @@
+package cz.eoa.templates;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Individual with primitive fitness. Fitness is boxed only when it is requested as object, individuals are compared
+ * as primitive values
+ */
+public class IndividualWithDoubleFitness<V, T> extends IndividualWithAssignedFitness<V, T, Double> {
+    private final double fitness;
+
+    public IndividualWithDoubleFitness(Individual<V, T> individual, double fitness) {
+        super(individual, null);
+        this.fitness = fitness;
+    }
+
+    /**
+     * Fitness of any individual with double fitness, unboxed only when it is not primitive already
+     */
+    public static double fitnessOf(IndividualWithAssignedFitness<?, ?, Double> individual) {
+        return individual instanceof IndividualWithDoubleFitness ? ((IndividualWithDoubleFitness<?, ?>) individual).fitness : individual.getFitness();
+    }
+
+    public double getDoubleFitness() {
+        return fitness;
+    }
+
+    @Override
+    public Double getFitness() {
+        return fitness;
+    }
+
+    @Override
+    public int compareTo(@NotNull IndividualWithAssignedFitness<V, T, Double> other) {
+        return Double.compare(fitness, fitnessOf(other));
+    }
+}
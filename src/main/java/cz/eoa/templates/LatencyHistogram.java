@@ -0,0 +1,57 @@
+package cz.eoa.templates;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies in nanoseconds with buckets by powers of two. Bucket i holds latencies from 2^(i-1) to 2^i - 1,
+ * so percentiles are precise up to factor of two
+ */
+public class LatencyHistogram {
+    public static final int BUCKETS = 64;
+    private final long[] counts;
+
+    public LatencyHistogram(long[] counts) {
+        if (counts.length != BUCKETS) {
+            throw new IllegalArgumentException("Histogram has to have " + BUCKETS + " buckets, got " + counts.length);
+        }
+        this.counts = counts.clone();
+    }
+
+    public static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public long getCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Upper bound of latency of given percentile (0 - 100) in nanoseconds, 0 when histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount(), rank = (long) Math.ceil(count * percentile / 100.0), seen = 0;
+        for (int bucket = 0; bucket < BUCKETS && count > 0; bucket++) {
+            seen = seen + counts[bucket];
+            if (seen >= Math.max(1, rank)) {
+                return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+            }
+        }
+        return 0;
+    }
+
+    public LatencyHistogram since(LatencyHistogram previous) {
+        long[] difference = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            difference[bucket] = counts[bucket] - previous.counts[bucket];
+        }
+        return new LatencyHistogram(difference);
+    }
+
+    public String getSummary() {
+        return "p50: " + getPercentile(50) / 1000 + "us, p99: " + getPercentile(99) / 1000 + "us, max: " + getPercentile(100) / 1000 + "us";
+    }
+}
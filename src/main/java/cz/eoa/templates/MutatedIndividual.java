@@ -0,0 +1,17 @@
+package cz.eoa.templates;
+
+import lombok.Getter;
+
+/**
+ * Individual created by mutation which reports positions of genes it changed. Fitness of such individual can be
+ * computed from fitness of its parent by {@link cz.eoa.templates.operations.DeltaFitnessAssessmentStrategy}
+ */
+@Getter
+public class MutatedIndividual<V, T> extends Individual<V, T> {
+    private final int[] changedGenes;
+
+    public MutatedIndividual(V genes, int[] changedGenes) {
+        super(genes);
+        this.changedGenes = changedGenes;
+    }
+}
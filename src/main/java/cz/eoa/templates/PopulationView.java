@@ -0,0 +1,32 @@
+package cz.eoa.templates;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of population without one individual. Nothing is copied, indexes after the excluded individual are
+ * shifted by one
+ */
+public class PopulationView<V, T, K extends Comparable<K>> extends AbstractList<IndividualWithAssignedFitness<V, T, K>> implements RandomAccess {
+    private final List<IndividualWithAssignedFitness<V, T, K>> population;
+    private final int excludedIndex;
+
+    public PopulationView(List<IndividualWithAssignedFitness<V, T, K>> population, int excludedIndex) {
+        this.population = population;
+        this.excludedIndex = excludedIndex;
+    }
+
+    @Override
+    public IndividualWithAssignedFitness<V, T, K> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of view of size " + size());
+        }
+        return population.get(index < excludedIndex ? index : index + 1);
+    }
+
+    @Override
+    public int size() {
+        return population.size() - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package cz.eoa.templates;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How stage of evolutionary cycle is executed when parallelism is adaptive. Time per task is the measured time of
+ * chosen execution, the choice is not final while options are being measured
+ */
+@Getter
+@AllArgsConstructor
+public class SchedulingDecision {
+    private final boolean isParallel;
+    //number of tasks in single chunk when stage was executed the last time
+    private final int chunkSize;
+    private final double nanosPerTask;
+    private final boolean isMeasuring;
+
+    public String getSummary() {
+        return (isParallel ? "parallel by " + chunkSize : "sequential")
+                + (Double.isInfinite(nanosPerTask) ? "" : " " + Math.round(nanosPerTask) + "ns/task")
+                + (isMeasuring ? " measuring" : "");
+    }
+}
@@ -1,12 +1,16 @@
 package cz.eoa.templates;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Getter
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class StatisticsPerEpoch<V, T, K extends Comparable<K>> {
     protected final int epoch;
     protected final long execution;
@@ -14,7 +18,34 @@ public class StatisticsPerEpoch<V, T, K extends Comparable<K>> {
     protected final IndividualWithAssignedFitness<V, T, K> bestIndividual;
     protected final List<IndividualWithAssignedFitness<V, T, K>> population;
 
+    //filled by executor when fitness cache is enabled
+    @Setter
+    protected Optional<FitnessCacheStatistics> fitnessCacheStatistics = Optional.empty();
+    //filled by executor when fitness can be converted to double
+    @Setter
+    protected Optional<FitnessAggregates> fitnessAggregates = Optional.empty();
+    //filled by executor when metrics are enabled
+    @Setter
+    protected Optional<EvolutionMetrics> metrics = Optional.empty();
+    //filled by executor when offspring is screened by surrogate model
+    @Setter
+    protected Optional<SurrogateStatistics> surrogateStatistics = Optional.empty();
+    //filled by executor when diversity is measured
+    @Setter
+    protected Optional<Double> diversity = Optional.empty();
+    //filled by executor when parallelism is adaptive, decisions are keyed by name of stage
+    @Setter
+    protected Optional<Map<String, SchedulingDecision>> scheduling = Optional.empty();
+
     public String getSummary() {
-        return "Epoch " + epoch + ", best fitness: " + bestIndividual.getFitness().toString() + ", #fitness evaluations: " + countOfFitnessEvaluations + ", execution time:" + execution;
+        return "Epoch " + epoch + ", best fitness: " + bestIndividual.getFitness().toString() + ", #fitness evaluations: " + countOfFitnessEvaluations + ", execution time:" + execution
+                + fitnessAggregates.map(aggregates -> ", " + aggregates.getSummary()).orElse("")
+                + fitnessCacheStatistics.map(cacheStatistics -> ", " + cacheStatistics.getSummary()).orElse("")
+                + metrics.map(metricsOfEpoch -> ", " + metricsOfEpoch.getSummary()).orElse("")
+                + diversity.map(diversityOfPopulation -> ", diversity: " + diversityOfPopulation).orElse("")
+                + surrogateStatistics.map(surrogate -> ", " + surrogate.getSummary()).orElse("")
+                + scheduling.map(decisions -> decisions.entrySet().stream()
+                .map(decision -> decision.getKey() + ": " + decision.getValue().getSummary())
+                .collect(Collectors.joining(", ", ", scheduling [", "]"))).orElse("");
     }
 }
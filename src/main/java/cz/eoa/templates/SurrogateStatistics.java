@@ -0,0 +1,20 @@
+package cz.eoa.templates;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Screening of offspring by surrogate model. Estimates and skipped offspring are counted for single epoch, archive size
+ * is current number of evaluations the model learns from
+ */
+@Getter
+@AllArgsConstructor
+public class SurrogateStatistics {
+    private final long estimates;
+    private final long skipped;
+    private final int archiveSize;
+
+    public String getSummary() {
+        return "surrogate estimates: " + estimates + ", skipped evaluations: " + skipped + ", surrogate archive: " + archiveSize;
+    }
+}
@@ -0,0 +1,17 @@
+package cz.eoa.templates.operations;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes fitness for many solutions at once. Fitness values have to be returned in the same order as solutions.
+ * Single solutions are evaluated as batch of one.
+ */
+public interface BatchFitnessAssessmentStrategy<T, K extends Comparable<K>> extends FitnessAssessmentStrategy<T, K> {
+    List<K> computeFitnessForIndividuals(List<T> solutions);
+
+    @Override
+    default K computeFitnessForIndividual(T solution) {
+        return computeFitnessForIndividuals(Collections.singletonList(solution)).get(0);
+    }
+}
@@ -0,0 +1,97 @@
+package cz.eoa.templates.operations;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of genes or fitness used by checkpoints. Value is written to buffer with at least {@link #sizeOf(Object)}
+ * bytes remaining and read back from the same position, so codec has to know where its value ends.
+ */
+public interface BinaryCodec<X> {
+    int sizeOf(X value);
+
+    void write(X value, ByteBuffer buffer);
+
+    X read(ByteBuffer buffer);
+
+    /**
+     * Checks length of array read from buffer before the array is allocated. Negative length means corrupt data, array
+     * longer than remaining bytes ends with underflow as any other read beyond the limit of buffer
+     */
+    static int checkLength(int length, int bytesPerElement, ByteBuffer buffer) {
+        if (length < 0) {
+            throw new IllegalStateException("Length of array can not be negative, data are corrupt");
+        }
+        if ((long) length * bytesPerElement > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    static BinaryCodec<Double> doubleValue() {
+        return new BinaryCodec<Double>() {
+            @Override
+            public int sizeOf(Double value) {
+                return Double.BYTES;
+            }
+
+            @Override
+            public void write(Double value, ByteBuffer buffer) {
+                buffer.putDouble(value);
+            }
+
+            @Override
+            public Double read(ByteBuffer buffer) {
+                return buffer.getDouble();
+            }
+        };
+    }
+
+    static BinaryCodec<int[]> intArray() {
+        return new BinaryCodec<int[]>() {
+            @Override
+            public int sizeOf(int[] value) {
+                return Integer.BYTES * (value.length + 1);
+            }
+
+            @Override
+            public void write(int[] value, ByteBuffer buffer) {
+                buffer.putInt(value.length);
+                buffer.asIntBuffer().put(value);
+                buffer.position(buffer.position() + Integer.BYTES * value.length);
+            }
+
+            @Override
+            public int[] read(ByteBuffer buffer) {
+                int[] value = new int[checkLength(buffer.getInt(), Integer.BYTES, buffer)];
+                buffer.asIntBuffer().get(value);
+                buffer.position(buffer.position() + Integer.BYTES * value.length);
+                return value;
+            }
+        };
+    }
+
+    static BinaryCodec<double[]> doubleArray() {
+        return new BinaryCodec<double[]>() {
+            @Override
+            public int sizeOf(double[] value) {
+                return Integer.BYTES + Double.BYTES * value.length;
+            }
+
+            @Override
+            public void write(double[] value, ByteBuffer buffer) {
+                buffer.putInt(value.length);
+                buffer.asDoubleBuffer().put(value);
+                buffer.position(buffer.position() + Double.BYTES * value.length);
+            }
+
+            @Override
+            public double[] read(ByteBuffer buffer) {
+                double[] value = new double[checkLength(buffer.getInt(), Double.BYTES, buffer)];
+                buffer.asDoubleBuffer().get(value);
+                buffer.position(buffer.position() + Double.BYTES * value.length);
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package cz.eoa.templates.operations;
+
+import cz.eoa.templates.DeltaEvaluation;
+
+/**
+ * Incremental evaluation of offspring created only by mutation of single parent. Mutation has to report changed genes
+ * by returning {@link cz.eoa.templates.MutatedIndividual}. State of evaluation (e.g. partial sums which fitness is
+ * made of) is kept with individual, so fitness of mutant is computed only from the changed genes.
+ *
+ * @param <S> state of evaluation, may be null when fitness of parent is enough to compute fitness of mutant
+ */
+public interface DeltaFitnessAssessmentStrategy<V, K extends Comparable<K>, S> {
+
+    /**
+     * State of individual which was evaluated in full
+     */
+    S stateOf(V genes, K fitness);
+
+    /**
+     * Evaluates mutant, whose genes differ from genes of parent only at given positions
+     */
+    DeltaEvaluation<K, S> evaluateChange(V parentGenes, K parentFitness, S parentState, V genes, int[] changedGenes);
+}
@@ -0,0 +1,18 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Diversity of population updated incrementally as individuals enter and leave it. Genes of the same individual may
+ * be added more times when it is in population more times
+ */
+public interface DiversityMeasure<V> {
+
+    void add(V genes);
+
+    void remove(V genes);
+
+    /**
+     * Diversity of current population, 0 when all individuals are the same. Random numbers are drawn from
+     * {@link cz.eoa.templates.EvolutionContext#random()}
+     */
+    double diversity();
+}
@@ -0,0 +1,21 @@
+package cz.eoa.templates.operations;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fitness assessment with primitive fitness. Executor keeps such fitness unboxed: individuals are
+ * {@link cz.eoa.templates.IndividualWithDoubleFitness} and populations are {@link cz.eoa.templates.DoublePopulation},
+ * so the best individual, trimming of generation and statistics work on primitive values.
+ */
+public interface DoubleFitnessAssessmentStrategy<T> extends FitnessAssessmentStrategy<T, Double> {
+    double computeDoubleFitness(T solution);
+
+    @Override
+    default Double computeFitnessForIndividual(T solution) {
+        return computeDoubleFitness(solution);
+    }
+
+    static <T> DoubleFitnessAssessmentStrategy<T> of(ToDoubleFunction<T> fitness) {
+        return fitness::applyAsDouble;
+    }
+}
@@ -1,9 +1,17 @@
 package cz.eoa.templates.operations;
 
+import cz.eoa.cycle.TaskScheduler;
 import cz.eoa.templates.IndividualWithAssignedFitness;
 
 import java.util.List;
 
 public interface FitnessTweakingStrategy<V, T, K extends Comparable<K>> {
     IndividualFitnessUpdater<V, T, K> getIndividualUpdater(List<IndividualWithAssignedFitness<V, T, K>> population);
+
+    /**
+     * Executor passes its scheduler, so strategy which splits its work to tasks runs them on threads of the run
+     */
+    default IndividualFitnessUpdater<V, T, K> getIndividualUpdater(List<IndividualWithAssignedFitness<V, T, K>> population, TaskScheduler scheduler) {
+        return getIndividualUpdater(population);
+    }
 }
@@ -0,0 +1,8 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Distance between two genomes. It has to be symmetric and zero for the same genes
+ */
+public interface GenesDistance<V> {
+    double distance(V firstGenes, V secondGenes);
+}
@@ -0,0 +1,28 @@
+package cz.eoa.templates.operations;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Content based hashing and equality of genes. It is used to recognize individuals which were already evaluated.
+ * Default implementation compares arrays (also primitive ones) by their content.
+ */
+public interface GenesEquivalence<V> {
+    int hash(V genes);
+
+    boolean equivalent(V firstGenes, V secondGenes);
+
+    static <V> GenesEquivalence<V> arrayAware() {
+        return new GenesEquivalence<V>() {
+            @Override
+            public int hash(V genes) {
+                return Arrays.deepHashCode(new Object[]{genes});
+            }
+
+            @Override
+            public boolean equivalent(V firstGenes, V secondGenes) {
+                return Objects.deepEquals(firstGenes, secondGenes);
+            }
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Writes two children of parents to arena of offspring. Parents and children are given by offsets of their genomes,
+ * arena of parents is never written to.
+ */
+public interface InPlaceCrossoverStrategy<A> {
+    void crossover(A parents, int firstParent, int secondParent, A offspring, int firstChild, int secondChild, int length);
+}
@@ -0,0 +1,8 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Computes fitness of genome stored in arena at given offset
+ */
+public interface InPlaceFitnessAssessmentStrategy<A> {
+    double computeFitness(A genes, int offset, int length);
+}
@@ -0,0 +1,8 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Initializes genome stored in arena at given offset
+ */
+public interface InPlaceInitializationStrategy<A> {
+    void initialize(A genes, int offset, int length);
+}
@@ -0,0 +1,12 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Mutates genome stored in arena at given offset in place
+ */
+public interface InPlaceMutationStrategy<A> {
+
+    /**
+     * @return false when genome stays the same, so its fitness does not have to be assessed again
+     */
+    boolean mutate(A genes, int offset, int length);
+}
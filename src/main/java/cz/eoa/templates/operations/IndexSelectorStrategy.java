@@ -0,0 +1,26 @@
+package cz.eoa.templates.operations;
+
+import cz.eoa.templates.EvolutionContext;
+
+/**
+ * Selects index of parent from primitive fitness of population
+ */
+public interface IndexSelectorStrategy {
+    int select(double[] fitness, int size, boolean isFitnessMaximized);
+
+    static IndexSelectorStrategy tournament(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size of tournament has to be positive, got " + size);
+        }
+        return (fitness, sizeOfPopulation, isFitnessMaximized) -> {
+            int winner = EvolutionContext.random().nextInt(sizeOfPopulation);
+            for (int i = 1; i < size; i++) {
+                int candidate = EvolutionContext.random().nextInt(sizeOfPopulation);
+                if (isFitnessMaximized ? fitness[candidate] > fitness[winner] : fitness[candidate] < fitness[winner]) {
+                    winner = candidate;
+                }
+            }
+            return winner;
+        };
+    }
+}
@@ -1,9 +1,19 @@
 package cz.eoa.templates.operations;
 
 import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.PopulationView;
 
 import java.util.List;
 
 public interface IndividualFitnessUpdater<V, T, K extends Comparable<K>> {
     K computeNewFitness(IndividualWithAssignedFitness<V, T, K> individualToRecomputeFitness, List<IndividualWithAssignedFitness<V, T, K>> restOfPopulation);
+
+    /**
+     * Computes new fitness of individual at given index of the whole population. Executor calls it concurrently for
+     * different individuals. By default, rest of population is passed as view, implementations working with
+     * indexes may override it to avoid the view at all
+     */
+    default K computeNewFitness(int individualsIndex, List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return computeNewFitness(population.get(individualsIndex), new PopulationView<>(population, individualsIndex));
+    }
 }
@@ -6,4 +6,12 @@ import java.util.List;
 
 public interface SelectorStrategy<V, T, K extends Comparable<K>> {
     IndividualWithAssignedFitness<V, T, K> select(List<IndividualWithAssignedFitness<V, T, K>> population);
+
+    /**
+     * Called once per generation with population parents are selected from. Returned selector is used for all
+     * selections of the generation, so it may precompute whatever it needs for the population
+     */
+    default SelectorStrategy<V, T, K> prepare(List<IndividualWithAssignedFitness<V, T, K>> population) {
+        return this;
+    }
 }
@@ -0,0 +1,16 @@
+package cz.eoa.templates.operations;
+
+import cz.eoa.templates.IndividualWithAssignedFitness;
+
+import java.util.List;
+
+/**
+ * Decides which individual of population is replaced by new offspring in steady-state evolution
+ */
+public interface SteadyStateReplacementStrategy<V, T, K extends Comparable<K>> {
+
+    /**
+     * @return index of individual to replace, negative number to discard offspring
+     */
+    int indexToReplace(List<IndividualWithAssignedFitness<V, T, K>> population, IndividualWithAssignedFitness<V, T, K> offspring);
+}
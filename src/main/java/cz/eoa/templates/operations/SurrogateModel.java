@@ -0,0 +1,25 @@
+package cz.eoa.templates.operations;
+
+/**
+ * Cheap model of fitness learned from individuals which were really evaluated. Estimates may be computed in parallel,
+ * but never at the same time as new evaluation is added
+ */
+public interface SurrogateModel<V> {
+
+    /**
+     * Adds really evaluated genes to archive of the model
+     */
+    void add(V genes, double fitness);
+
+    /**
+     * Whether model has enough evaluations to estimate fitness
+     */
+    boolean isReady();
+
+    double estimate(V genes);
+
+    /**
+     * Number of evaluations the model currently learns from
+     */
+    int size();
+}
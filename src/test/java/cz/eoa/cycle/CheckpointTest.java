@@ -0,0 +1,93 @@
+package cz.eoa.cycle;
+
+import cz.eoa.templates.Individual;
+import cz.eoa.templates.IndividualWithAssignedFitness;
+import cz.eoa.templates.operations.BinaryCodec;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Checkpoints are read with small windows, so individuals cross ends of windows and some do not fit single window
+ */
+public class CheckpointTest {
+    private static final int WINDOW_SIZE = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<IndividualWithAssignedFitness<int[], Object, Double>> population(SplittableRandom random, int size) {
+        List<IndividualWithAssignedFitness<int[], Object, Double>> population = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            //the longest genes take more than whole window
+            int[] genes = random.ints(random.nextInt(3 * WINDOW_SIZE / Integer.BYTES)).toArray();
+            population.add(new IndividualWithAssignedFitness<>(new Individual<>(genes), random.nextDouble()));
+        }
+        return population;
+    }
+
+    @Test
+    public void populationReadInWindowsEqualsWrittenOne() throws IOException {
+        SplittableRandom random = new SplittableRandom(11);
+        Path path = folder.getRoot().toPath().resolve("checkpoint");
+        List<IndividualWithAssignedFitness<int[], Object, Double>> population = population(random, 200);
+        Checkpoint.write(path, 42, 7, population, BinaryCodec.intArray(), BinaryCodec.doubleValue());
+        assertFalse(Files.exists(path.resolveSibling("checkpoint.tmp")));
+
+        Checkpoint<int[], Double> checkpoint = Checkpoint.read(path, BinaryCodec.intArray(), BinaryCodec.doubleValue(), WINDOW_SIZE);
+        assertEquals(42, checkpoint.getSeed());
+        assertEquals(7, checkpoint.getEpoch());
+        assertEquals(population.size(), checkpoint.getGenes().size());
+        for (int i = 0; i < population.size(); i++) {
+            assertArrayEquals(population.get(i).getGenes(), checkpoint.getGenes().get(i));
+            assertEquals(population.get(i).getFitness(), checkpoint.getFitness().get(i));
+        }
+    }
+
+    @Test
+    public void truncatedCheckpointIsNotRead() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("checkpoint");
+        Checkpoint.write(path, 42, 7, population(new SplittableRandom(12), 50), BinaryCodec.intArray(), BinaryCodec.doubleValue());
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length - 3));
+        expectIOException(path);
+    }
+
+    @Test
+    public void corruptLengthOfGenesIsNotAllocated() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("checkpoint");
+        Checkpoint.write(path, 42, 7, population(new SplittableRandom(13), 50), BinaryCodec.intArray(), BinaryCodec.doubleValue());
+        //length of genes of the first individual follows header
+        for (int length : new int[]{Integer.MAX_VALUE, -1}) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write((ByteBuffer) ByteBuffer.allocate(Integer.BYTES).putInt(length).flip(), 4 * Integer.BYTES + Long.BYTES);
+            }
+            expectIOException(path);
+        }
+    }
+
+    private static void expectIOException(Path path) {
+        try {
+            Checkpoint.read(path, BinaryCodec.intArray(), BinaryCodec.doubleValue(), WINDOW_SIZE);
+            fail("Damaged checkpoint was read");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+}
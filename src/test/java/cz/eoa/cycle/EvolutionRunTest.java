@@ -0,0 +1,59 @@
+package cz.eoa.cycle;
+
+import cz.eoa.configuration.EvolutionConfigurationBuilder;
+import cz.eoa.library.binary.BitFlipMutation;
+import cz.eoa.library.binary.BitString;
+import cz.eoa.library.binary.BitStringCrossover;
+import cz.eoa.library.binary.BitStringInitialization;
+import cz.eoa.library.replacement.ElitistReplacement;
+import cz.eoa.library.selection.TournamentSelector;
+import cz.eoa.templates.StatisticsPerEpoch;
+import cz.eoa.templates.operations.DoubleFitnessAssessmentStrategy;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Asynchronous runs of one max are ended by termination condition and by budget of evaluations
+ */
+public class EvolutionRunTest {
+    private static final int LENGTH = 32, POPULATION_SIZE = 20;
+
+    private static EvolutionConfigurationBuilder<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> oneMax() {
+        return new EvolutionConfigurationBuilder<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>>()
+                .populationInitialization(new BitStringInitialization<>(LENGTH))
+                .crossover(BitStringCrossover.uniform())
+                .mutation(new BitFlipMutation<>(1.0 / LENGTH))
+                .selector(new TournamentSelector<>(2, fitness -> fitness, true))
+                .replacement(new ElitistReplacement<>(2, true))
+                .decoding(genes -> genes)
+                .fitnessAssessment(DoubleFitnessAssessmentStrategy.of(genes -> (double) genes.cardinality()))
+                .fitnessIsMaximized(true)
+                .populationSize(POPULATION_SIZE)
+                .statisticsCreation(StatisticsPerEpoch::new)
+                .seed(7);
+    }
+
+    @Test
+    public void runEndedByTerminationConditionDidNotExhaustBudget() throws Exception {
+        EvolutionRun<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> run = new EvolutionExecutor<>(oneMax()
+                .terminationCondition(statistics -> statistics.size() < 10).build()).runAsync(RunBudget.unlimited().fitnessEvaluations(1_000_000));
+        List<StatisticsPerEpoch<BitString, BitString, Double>> statistics = run.getResult().get();
+        assertEquals(10, statistics.size());
+        assertFalse(run.isBudgetExhausted());
+    }
+
+    @Test
+    public void runStoppedByEvaluationBudgetExhaustedIt() throws Exception {
+        EvolutionRun<BitString, BitString, Double, StatisticsPerEpoch<BitString, BitString, Double>> run = new EvolutionExecutor<>(oneMax()
+                .terminationCondition(statistics -> true).build()).runAsync(RunBudget.unlimited().fitnessEvaluations(5 * POPULATION_SIZE));
+        run.getResult().get();
+        assertTrue(run.isBudgetExhausted());
+        assertTrue(run.getCountOfFitnessEvaluations() <= 5 * POPULATION_SIZE);
+        assertTrue(run.getBestSoFar().isPresent());
+    }
+}
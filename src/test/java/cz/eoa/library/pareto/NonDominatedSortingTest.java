@@ -0,0 +1,82 @@
+package cz.eoa.library.pareto;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ranks of the sweep (two objectives) and of best order sort (more objectives) are compared with naive sorting which
+ * peels fronts one by one. Objectives are drawn from few values, so ties and duplicates are common
+ */
+public class NonDominatedSortingTest {
+    private static final int CASES = 3000;
+
+    @Test
+    public void ranksMatchNaiveSorting() {
+        SplittableRandom random = new SplittableRandom(42);
+        NonDominatedSorting<Object, Object> sorting = new NonDominatedSorting<>();
+        for (int i = 0; i < CASES; i++) {
+            double[][] objectives = randomObjectives(random, 1 + random.nextInt(60), 2 + random.nextInt(4), 1 + random.nextInt(8));
+            NonDominatedSorting.Ranking ranking = sorting.sort(objectives);
+            int[] ranks = new int[objectives.length];
+            for (int j = 0; j < ranks.length; j++) {
+                ranks[j] = ranking.getRank(j);
+            }
+            assertArrayEquals("Ranks of " + Arrays.deepToString(objectives), naiveRanks(objectives), ranks);
+        }
+    }
+
+    @Test
+    public void boundaryIndividualsOfFrontHaveInfiniteCrowdingDistance() {
+        double[][] objectives = {{0, 4}, {1, 3}, {2, 2}, {3, 1}, {4, 0}, {5, 5}};
+        NonDominatedSorting.Ranking ranking = new NonDominatedSorting<>().sort(objectives);
+        assertEquals(Double.POSITIVE_INFINITY, ranking.getCrowdingDistance(0), 0);
+        assertEquals(Double.POSITIVE_INFINITY, ranking.getCrowdingDistance(4), 0);
+        assertTrue(ranking.getCrowdingDistance(2) < Double.POSITIVE_INFINITY);
+        assertEquals(1, ranking.getRank(5));
+    }
+
+    private static double[][] randomObjectives(SplittableRandom random, int count, int countOfObjectives, int countOfValues) {
+        double[][] objectives = new double[count][countOfObjectives];
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && random.nextInt(10) == 0) {
+                objectives[i] = objectives[random.nextInt(i)].clone();
+                continue;
+            }
+            for (int objective = 0; objective < countOfObjectives; objective++) {
+                objectives[i][objective] = random.nextInt(countOfValues);
+            }
+        }
+        return objectives;
+    }
+
+    private static int[] naiveRanks(double[][] objectives) {
+        int[] ranks = new int[objectives.length];
+        Arrays.fill(ranks, -1);
+        int ranked = 0;
+        for (int rank = 0; ranked < objectives.length; rank++) {
+            boolean[] isInFront = new boolean[objectives.length];
+            for (int i = 0; i < objectives.length; i++) {
+                if (ranks[i] >= 0) {
+                    continue;
+                }
+                isInFront[i] = true;
+                for (int j = 0; j < objectives.length && isInFront[i]; j++) {
+                    isInFront[i] = ranks[j] >= 0 || !NonDominatedSorting.dominates(objectives[j], objectives[i]);
+                }
+            }
+            for (int i = 0; i < objectives.length; i++) {
+                if (isInFront[i]) {
+                    ranks[i] = rank;
+                    ranked++;
+                }
+            }
+        }
+        return ranks;
+    }
+}